@@ -1,5 +1,6 @@
 plugins {
     id("java")
+    id("java-test-fixtures")
 }
 
 group = "by.bsu.dependency"
@@ -9,16 +10,74 @@ repositories {
     mavenCentral()
 }
 
+val jmhVersion = "1.37"
+
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations {
+    named("jmhImplementation") {
+        extendsFrom(configurations.implementation.get())
+    }
+}
+
 dependencies {
     implementation("org.reflections:reflections:0.10.2")
 
     compileOnly("org.projectlombok:lombok:1.18.34")
 
+    annotationProcessor(project(":processor"))
+
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation("org.junit.jupiter:junit-jupiter-params")
     testImplementation("org.assertj:assertj-core:3.26.3")
+
+    testFixturesImplementation("org.ow2.asm:asm:9.7")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhImplementation"(testFixtures(project))
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("scale")
+    }
+}
+
+// Запуск: ./gradlew scaleTest
+tasks.register<Test>("scaleTest") {
+    group = "verification"
+    description = "Runs scale tests on generated bean graphs."
+
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("scale")
+    }
+    maxHeapSize = "2g"
+    testLogging.showStandardStreams = true
+}
+
+// Запуск: ./gradlew jmh [-Pjmh.args="StartBenchmark -f 1 -wi 3 -i 5"] [-Pjmh.results=path/to/results.json]
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "Runs JMH benchmarks and writes the results as JSON."
+
+    val results = providers.gradleProperty("jmh.results")
+        .map { file(it) }
+        .orElse(layout.buildDirectory.file("reports/jmh/results.json").map { it.asFile })
+
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(providers.gradleProperty("jmh.args").map { it.split(" ").filter(String::isNotBlank) }.getOrElse(emptyList()))
+    argumentProviders.add(CommandLineArgumentProvider {
+        results.get().parentFile.mkdirs()
+        listOf("-rf", "json", "-rff", results.get().absolutePath)
+    })
 }
@@ -0,0 +1,10 @@
+plugins {
+    id("java")
+}
+
+group = "by.bsu.dependency"
+version = "1.0-SNAPSHOT"
+
+repositories {
+    mavenCentral()
+}
@@ -0,0 +1,68 @@
+package by.bsu.dependency.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Процессор аннотаций, который на этапе компиляции собирает индекс классов, помеченных {@code @Bean}.
+ * <br/>
+ * Индекс записывается в ресурс {@value #INDEX_LOCATION}, по одному бинарному имени класса на строку. Остальное
+ * определение бина контекст получает из самого класса.
+ */
+@SupportedAnnotationTypes(BeanIndexProcessor.BEAN_ANNOTATION)
+public class BeanIndexProcessor extends AbstractProcessor {
+    public static final String INDEX_LOCATION = "META-INF/by.bsu.dependency/bean.index";
+
+    static final String BEAN_ANNOTATION = "by.bsu.dependency.annotation.Bean";
+
+    private final Set<String> classNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !classNames.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = file.openWriter()) {
+                for (String className : classNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR, "Failed to write bean index: " + e.getMessage());
+        }
+    }
+}
@@ -1,2 +1,3 @@
 rootProject.name = "lab-2"
 
+include("processor")
@@ -0,0 +1,29 @@
+package by.bsu.dependency.benchmark;
+
+import by.bsu.dependency.context.ApplicationContext;
+import by.bsu.dependency.context.AutoScanApplicationContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание {@link AutoScanApplicationContext} для пакета с примерами (без старта).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutoScanBenchmark {
+
+    @Benchmark
+    public ApplicationContext construct() {
+        return new AutoScanApplicationContext("by.bsu.dependency.example");
+    }
+}
@@ -0,0 +1,62 @@
+package by.bsu.dependency.benchmark;
+
+import by.bsu.dependency.context.AbstractApplicationContext;
+import by.bsu.dependency.context.BeanHandle;
+import by.bsu.dependency.context.SimpleApplicationContext;
+import by.bsu.dependency.generator.BeanGraphGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Получение {@code SINGLETON} бина из запущенного контекста на 1000 бинов по имени, по классу и через
+ * {@code BeanHandle}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetBeanBenchmark {
+
+    private AbstractApplicationContext context;
+    private String beanName;
+    private Class<?> beanClass;
+    private BeanHandle<?> handle;
+
+    @Setup
+    public void start() {
+        List<Class<?>> classes = BeanGraphGenerator.beans(1000).generate();
+        context = new SimpleApplicationContext(classes.toArray(new Class<?>[0]));
+        context.start();
+        beanName = "bean500";
+        beanClass = classes.get(500);
+        handle = context.getHandle(beanName, Object.class);
+    }
+
+    @Benchmark
+    public Object getBeanByName() {
+        return context.getBean(beanName);
+    }
+
+    @Benchmark
+    public Object getBeanByClass() {
+        return context.getBean(beanClass);
+    }
+
+    @Benchmark
+    public Object getBeanByHandle() {
+        return handle.get();
+    }
+}
@@ -0,0 +1,77 @@
+package by.bsu.dependency.benchmark;
+
+import by.bsu.dependency.annotation.BeanScope;
+import by.bsu.dependency.context.ApplicationContext;
+import by.bsu.dependency.context.Provider;
+import by.bsu.dependency.context.SimpleApplicationContext;
+import by.bsu.dependency.generator.GeneratedBeans;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание {@code PROTOTYPE} бина с 0, 1 и 10 {@code @Inject} полями на {@code SINGLETON} бины: через
+ * {@code getBean} по имени и через внедренный {@code Provider}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeBenchmark {
+
+    @Param({"0", "1", "10"})
+    public int injectFields;
+
+    private ApplicationContext context;
+    private Provider<?> provider;
+
+    @Setup
+    public void start() {
+        GeneratedBeans beans = new GeneratedBeans();
+        List<String> dependencies = new ArrayList<>();
+        for (int i = 0; i < injectFields; i++) {
+            beans.add("dependency" + i, BeanScope.SINGLETON, List.of());
+            dependencies.add("dependency" + i);
+        }
+        beans.add("prototype", BeanScope.PROTOTYPE, dependencies);
+        beans.add("holder", BeanScope.SINGLETON, false, List.of(), List.of("prototype"), 0);
+
+        List<Class<?>> classes = beans.load();
+        context = new SimpleApplicationContext(classes.toArray(new Class<?>[0]));
+        context.start();
+
+        try {
+            Object holder = context.getBean("holder");
+            Field field = holder.getClass().getDeclaredField("provider0");
+            field.setAccessible(true);
+            provider = (Provider<?>) field.get(holder);
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Benchmark
+    public Object getPrototype() {
+        return context.getBean("prototype");
+    }
+
+    @Benchmark
+    public Object getPrototypeFromProvider() {
+        return provider.get();
+    }
+}
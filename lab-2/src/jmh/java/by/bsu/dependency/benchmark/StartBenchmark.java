@@ -0,0 +1,51 @@
+package by.bsu.dependency.benchmark;
+
+import by.bsu.dependency.context.ApplicationContext;
+import by.bsu.dependency.context.SimpleApplicationContext;
+import by.bsu.dependency.generator.BeanGraphGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Создание и старт контекста из графа {@code SINGLETON} бинов {@link BeanGraphGenerator}: 10 слоев, каждый бин
+ * зависит от двух бинов предыдущего слоя.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StartBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int beanCount;
+
+    private Class<?>[] beanClasses;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        List<Class<?>> classes = BeanGraphGenerator.beans(beanCount).generate();
+        beanClasses = classes.toArray(new Class<?>[0]);
+    }
+
+    @Benchmark
+    public ApplicationContext start() {
+        ApplicationContext context = new SimpleApplicationContext(beanClasses);
+        context.start();
+        return context;
+    }
+}
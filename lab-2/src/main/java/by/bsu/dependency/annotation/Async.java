@@ -0,0 +1,23 @@
+package by.bsu.dependency.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод бина, который выполняется в пуле {@code @Async} методов контекста, а не в вызывающем потоке. Метод должен
+ * реализовывать метод интерфейса бина, так как бин оборачивается в прокси, как при {@link Interceptors}.
+ * <br/>
+ * Метод возвращает {@code void} или {@link java.util.concurrent.CompletableFuture}: вызов сразу возвращает future,
+ * которая завершается результатом метода (или результатом возвращенной им future) либо его исключением.
+ * Исключения {@code void} метода теряются. Перехватчики метода выполняются в потоке пула.
+ * <br/>
+ * Ограничения: бин с хотя бы одним {@code @Async} методом целиком оборачивается в прокси интерфейсов, поэтому
+ * остальные его методы тоже вызываются через обработчик прокси и становятся дороже прямого вызова. Бин без
+ * интерфейсов с {@code @Async} методом не создается: старт контекста завершается ошибкой.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async {
+}
@@ -18,8 +18,45 @@ public @interface Bean {
      * Бин со скоупом {@code SINGLETON} существует в контексте в единственном экземпляре, создается при старте контекста
      * <br/>
      * Бин со скоупом {@code PROTOTYPE} не создается при старте, а генерируется при каждом вызове {@code getBean}
+     * <br/>
+     * Бин со скоупом {@code POOLED} берется из пула контекста, а после использования возвращается в пул, где его
+     * могут переиспользовать. Если свободного инстанса нет, создается новый
+     * <br/>
+     * Бин со скоупом {@code THREAD} создается один раз на поток, а со скоупом {@code REQUEST} - один раз на запрос,
+     * открытый через {@code runInRequest}/{@code callInRequest} контекста
+     * <br/>
+     * Бин со скоупом {@code CUSTOM} получается из скоупа, зарегистрированного в контексте под именем
+     * {@link #scopeName()}
      *
      * @return скоуп бина
      */
     BeanScope scope() default BeanScope.SINGLETON;
+
+    /**
+     * @return имя зарегистрированного в контексте скоупа для бина со скоупом {@code CUSTOM}
+     */
+    String scopeName() default "";
+
+    /**
+     * Ленивый бин со скоупом {@code SINGLETON} не создается при старте контекста, а создается при первом вызове
+     * {@code getBean} или при первом внедрении в другой бин. Для остальных скоупов не влияет ни на что.
+     *
+     * @return {@code true}, если бин ленивый
+     */
+    boolean lazy() default false;
+
+    /**
+     * Максимальное число свободных инстансов в пуле бина со скоупом {@code POOLED}. Для остальных скоупов не
+     * влияет ни на что.
+     *
+     * @return размер пула
+     */
+    int poolSize() default 16;
+
+    /**
+     * Максимальное число результатов в кеше каждого {@link Cacheable} метода бина.
+     *
+     * @return размер кеша
+     */
+    int cacheSize() default 1024;
 }
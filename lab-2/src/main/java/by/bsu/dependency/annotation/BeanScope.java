@@ -2,5 +2,9 @@ package by.bsu.dependency.annotation;
 
 public enum BeanScope {
     SINGLETON,
-    PROTOTYPE
+    PROTOTYPE,
+    POOLED,
+    THREAD,
+    REQUEST,
+    CUSTOM
 }
@@ -0,0 +1,25 @@
+package by.bsu.dependency.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Кеширует результаты метода бина по аргументам. Метод должен реализовывать метод интерфейса бина, так как бин
+ * оборачивается в прокси, как при {@link Interceptors}. Каждый инстанс бина имеет свой кеш для каждого метода,
+ * размер кеша задается {@link Bean#cacheSize()}, при переполнении вытесняются давно не использованные результаты.
+ * <br/>
+ * Кеш проверяется до перехватчиков метода. Исключения не кешируются, в том числе future метода, которая
+ * завершилась исключением. Одновременные промахи по одному ключу могут вычислить метод несколько раз, поэтому
+ * кешировать стоит чистые функции.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Cacheable {
+
+    /**
+     * @return время жизни результата в миллисекундах, 0 - без ограничения
+     */
+    long ttlMillis() default 0;
+}
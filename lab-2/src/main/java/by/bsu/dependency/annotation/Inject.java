@@ -5,7 +5,11 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
-@Target(ElementType.FIELD)
+/**
+ * Помечает поле, в которое нужно внедрить бин, или конструктор, через который нужно создавать бин. Аргументы
+ * конструктора подбираются по типу параметров так же, как для полей.
+ */
+@Target({ElementType.FIELD, ElementType.CONSTRUCTOR})
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Inject {
 }
@@ -0,0 +1,26 @@
+package by.bsu.dependency.annotation;
+
+import by.bsu.dependency.context.MethodInterceptor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Привязывает перехватчики к методам бина. На классе бина перехватчики применяются ко всем методам его
+ * интерфейсов, на методе - только к нему, после перехватчиков класса. Аннотация, помеченная {@code @Interceptors},
+ * сама привязывает перехватчики там, где она стоит.
+ * <br/>
+ * Бин с перехватчиками оборачивается в прокси его интерфейсов, поэтому внедрять и запрашивать его нужно по
+ * интерфейсу. Перехватчики создаются конструктором без аргументов один раз на класс бина.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Interceptors {
+
+    /**
+     * @return классы перехватчиков в порядке вызова
+     */
+    Class<? extends MethodInterceptor>[] value();
+}
@@ -8,4 +8,16 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface PostConstruct {
+
+    /**
+     * Асинхронный метод неленивого {@code SINGLETON} бина вызывается при старте контекста в отдельном потоке, как
+     * только завершатся {@code @PostConstruct} методы его зависимостей. Если метод возвращает
+     * {@link java.util.concurrent.CompletionStage}, бин считается готовым после ее завершения. Старт контекста
+     * завершается, когда готовы все бины.
+     * <br/>
+     * Для остальных бинов метод вызывается синхронно, а возвращенная {@code CompletionStage} дожидается.
+     *
+     * @return {@code true}, если метод асинхронный
+     */
+    boolean async() default false;
 }
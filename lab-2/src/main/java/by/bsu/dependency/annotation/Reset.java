@@ -0,0 +1,15 @@
+package by.bsu.dependency.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод бина со скоупом {@code POOLED}, который вызывается при возврате инстанса в пул и должен сбросить его
+ * состояние.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Reset {
+}
@@ -0,0 +1,36 @@
+package by.bsu.dependency.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Метод без аргументов неленивого {@code SINGLETON} бина, который контекст периодически вызывает в пуле
+ * {@code @Async} методов, начиная со старта и до {@code close()}. Должен быть задан ровно один из параметров
+ * {@link #fixedRate()} и {@link #fixedDelay()}. Исключение метода не отменяет следующие вызовы.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Scheduled {
+
+    /**
+     * Вызовы начинаются через каждые {@code fixedRate} миллисекунд. Если предыдущий вызов еще выполняется, очередной
+     * пропускается.
+     *
+     * @return период в миллисекундах
+     */
+    long fixedRate() default 0;
+
+    /**
+     * Следующий вызов начинается через {@code fixedDelay} миллисекунд после завершения предыдущего.
+     *
+     * @return задержка в миллисекундах
+     */
+    long fixedDelay() default 0;
+
+    /**
+     * @return задержка первого вызова после старта контекста в миллисекундах
+     */
+    long initialDelay() default 0;
+}
@@ -2,73 +2,611 @@ package by.bsu.dependency.context;
 
 import by.bsu.dependency.annotation.BeanScope;
 import by.bsu.dependency.exceptions.ApplicationContextNotStartedException;
+import by.bsu.dependency.exceptions.BeanNotOfRequiredTypeException;
 import by.bsu.dependency.exceptions.DependencyLoopException;
 import by.bsu.dependency.exceptions.NoSuchBeanDefinitionException;
+import by.bsu.dependency.exceptions.NoUniqueBeanDefinitionException;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
-public abstract class AbstractApplicationContext implements ApplicationContext {
+public abstract class AbstractApplicationContext implements ApplicationContext, AutoCloseable {
     protected enum ContextStatus {
         NOT_STARTED,
         STARTED
     }
 
-    private enum NodeStatus {
-        NOT_VISITED,
-        VISITED,
-        ACTIVE
+    /**
+     * Ячейка ленивого {@code SINGLETON} бина. Инстанс создается один раз под блокировкой ячейки, после этого
+     * читается через volatile поле без блокировок.
+     */
+    private static final class LazySingleton {
+        private volatile Object instance;
     }
 
-    private static class Node {
-        public List<String> children = new ArrayList<>();
-        public NodeStatus status = NodeStatus.NOT_VISITED;
+    /**
+     * Скоуп бина, не являющегося {@code SINGLETON}, и номер его слота в этом скоупе.
+     */
+    private record ScopedBean(Scope scope, int slot) {
     }
 
+    /**
+     * Таблица бинов, по которой идет поиск. Каждому бину при старте выдается плотный номер в топологическом
+     * порядке, все данные бина лежат в массивах по этому номеру, а по имени ищется только номер.
+     * <br/>
+     * {@code cells[id]} - инстанс неленивого {@code SINGLETON} бина, {@link LazySingleton} ленивого или
+     * {@link ScopedBean} для остальных скоупов. Зависимости бина лежат в
+     * {@code dependencyIds[dependencyOffsets[id]..dependencyOffsets[id + 1])}, номер {@code -(i + 1)} обозначает
+     * бин родителя {@code external[i]}. Номер удаленного бина не переиспользуется, его определение {@code null}.
+     * <br/>
+     * Массивы заполняются во время старта и не меняются после публикации, изменения контекста публикуют новую
+     * таблицу, поэтому чтение из запущенного контекста не требует блокировок.
+     */
+    private record Registry(Map<String, Integer> ids, BeanInfo[] definitions, Object[] cells,
+                            int[] dependencyOffsets, int[] dependencyIds, BeanHandle<?>[] external,
+                            TypeIndex types) {
+        /**
+         * @return номер бина или {@code -1}, если бина с таким именем нет
+         */
+        int id(String name) {
+            Integer id = ids.get(name);
+            return id != null ? id : -1;
+        }
+
+        /**
+         * @return созданный инстанс неленивого {@code SINGLETON} бина, иначе {@code null}
+         */
+        Object singleton(String name) {
+            int id = id(name);
+            return id >= 0 && definitions[id].scope == BeanScope.SINGLETON && !definitions[id].lazy ? cells[id] : null;
+        }
+
+        Registry withTypes(TypeIndex types) {
+            return new Registry(ids, definitions, cells, dependencyOffsets, dependencyIds, external, types);
+        }
+    }
+
+    /**
+     * Общий пул для асинхронных {@code @PostConstruct} методов, создается при первом использовании.
+     */
+    private static final class AsyncExecutorHolder {
+        private static final Executor EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "post-construct");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final Scope PROTOTYPE_SCOPE = (slot, factory) -> factory.get();
+
+    private final AbstractApplicationContext parent;
     protected final Map<String, BeanInfo> beanDefinitions = new HashMap<>();
-    protected final Map<String, Object> singletons = new HashMap<>();
-    protected ContextStatus status = ContextStatus.NOT_STARTED;
-    private final Map<String, Node> graph = new HashMap<>();
+    protected volatile ContextStatus status = ContextStatus.NOT_STARTED;
+    private final Map<String, List<String>> dependencies = new HashMap<>();
+    private final Map<String, Scope> scopes = new HashMap<>();
+    private final ThreadScope threadScope = new ThreadScope();
+    private final RequestScope requestScope = new RequestScope();
+    private TypeIndex types;
+    private DependencyGraph.Order order;
+    private volatile Registry registry;
+    private ForkJoinPool startPool;
+    private boolean metricsEnabled;
+    private ContextMetrics metrics;
+    private Executor asyncExecutor;
+    private int asyncConcurrency = Runtime.getRuntime().availableProcessors() * 4;
+    private AsyncMethodExecutor asyncMethods;
+    private final Map<String, List<ScheduledJob>> scheduledJobs = new HashMap<>();
+    private volatile CompletableFuture<?>[] startup;
+    private CompletableFuture<Void> starting;
+    private final Map<Scope, Integer> scopeSlots = new IdentityHashMap<>();
 
     AbstractApplicationContext(Class<?>... beanClasses) {
         this(Arrays.asList(beanClasses));
     }
 
     AbstractApplicationContext(List<Class<?>> beanClasses) {
+        this.parent = null;
         init(beanClasses);
     }
 
-    protected void init(List<Class<?>> beanClasses) {
-        beanClasses.forEach(clazz -> beanDefinitions.put(BeanInfo.getName(clazz), new BeanInfo(clazz)));
+    /**
+     * Создает дочерний контекст. Он содержит только определения бинов из {@code beanClasses}, а все остальные бины,
+     * в том числе внедряемые в его бины, берет из уже запущенного {@code parent}. Бины дочернего контекста
+     * перекрывают бины родителя с тем же именем или типом.
+     *
+     * @throws ApplicationContextNotStartedException если родительский контекст еще не запущен
+     */
+    AbstractApplicationContext(AbstractApplicationContext parent, List<Class<?>> beanClasses) {
+        if (!parent.isRunning()) {
+            throw new ApplicationContextNotStartedException();
+        }
+        this.parent = parent;
+        init(beanClasses);
+    }
 
-        beanDefinitions.forEach((name, beanInfo) -> {
-            graph.put(name, new Node());
-            beanInfo.dependencies.forEach(dependency -> {
-                String dependencyName = BeanInfo.getName(dependency.getType());
-                graph.get(name).children.add(dependencyName);
-            });
+    protected void init(List<Class<?>> beanClasses) {
+        beanClasses.forEach(clazz -> {
+            BeanInfo beanInfo = BeanInfo.of(clazz);
+            beanDefinitions.put(beanInfo.name, beanInfo);
         });
+        types = TypeIndex.build(beanDefinitions);
+
+        beanDefinitions.forEach((name, beanInfo) -> dependencies.put(name, beanInfo.getDependencyTypes().stream()
+                .map(this::resolveDependencyName)
+                .toList()));
+    }
+
+    /**
+     * Инициализирует контекст из снимка {@code snapshot}, пропуская разбор аннотаций, построение графа и его
+     * проверку. Если снимка нет или он устарел (изменился байткод класса или набор классов), контекст
+     * инициализируется классами из {@code beanClasses}, а снимок перезаписывается.
+     *
+     * @param snapshot           путь к файлу снимка
+     * @param classLoader        загрузчик классов бинов
+     * @param expectedClassNames имена классов, из которых должен состоять контекст
+     * @param beanClasses        классы бинов, если снимок использовать нельзя
+     */
+    protected void init(Path snapshot, ClassLoader classLoader, Set<String> expectedClassNames,
+                        Supplier<List<Class<?>>> beanClasses) {
+        Optional<ContextSnapshot> restored = ContextSnapshot.read(snapshot, expectedClassNames, classLoader);
+        if (restored.isPresent()) {
+            beanDefinitions.putAll(restored.get().definitions);
+            dependencies.putAll(restored.get().dependencies);
+            types = restored.get().types;
+            order = restored.get().order;
+            return;
+        }
+
+        init(beanClasses.get());
+        DependencyGraph.Order sorted;
+        try {
+            sorted = DependencyGraph.build(dependencies).sort();
+        } catch (RuntimeException e) {
+            // некорректный граф не сохраняем, ошибка будет брошена при старте
+            return;
+        }
+        order = sorted;
+        new ContextSnapshot(beanDefinitions, dependencies, order, types).write(snapshot);
     }
 
+    /**
+     * Стартует контекст и дожидается завершения всех {@code @PostConstruct} методов, в том числе асинхронных.
+     * Повторный вызов для уже запущенного контекста ничего не делает.
+     * <br/>
+     * После старта таблица бинов замораживается, и {@code getBean}/{@code containsBean} можно безопасно вызывать
+     * из любых потоков без синхронизации.
+     */
     @Override
     public void start() {
-        validateDependencyGraph();
+        try {
+            startAsync().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Создает {@code SINGLETON} бины и запускает асинхронные {@code @PostConstruct} методы. Метод бина вызывается
+     * только после завершения методов его зависимостей, независимые методы выполняются одновременно в
+     * {@link #setAsyncExecutor executor}.
+     * <br/>
+     * Контекст считается запущенным после завершения возвращенной future. Если какой-то метод бросил исключение,
+     * future завершается первым из них. Повторный вызов возвращает ту же future.
+     *
+     * @return future, завершающаяся после готовности всех бинов
+     */
+    public synchronized CompletableFuture<Void> startAsync() {
+        if (starting != null) {
+            return starting;
+        }
 
-        beanDefinitions.forEach((name, beanInfo) -> {
-            if (beanInfo.scope == BeanScope.SINGLETON) {
-                singletons.put(name, instantiateBean(beanInfo));
+        ContextStartEvent event = null;
+        long started = 0;
+        if (metricsEnabled) {
+            metrics = new ContextMetrics(beanDefinitions);
+            event = new ContextStartEvent();
+            event.begin();
+            started = System.nanoTime();
+        }
+
+        if (order == null) {
+            order = DependencyGraph.build(localDependencies()).sort();
+        }
+
+        beanDefinitions.values().forEach(beanInfo -> {
+            beanInfo.getPlan();
+            checkInterceptedDependencies(beanInfo, dependencies.get(beanInfo.name));
+        });
+
+        asyncMethods = new AsyncMethodExecutor(asyncConcurrency);
+        Registry building = buildRegistry(order.names());
+        List<List<Integer>> levels = singletonLevels(building);
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[building.definitions.length];
+        startup = pending;
+        try {
+            for (List<Integer> level : levels) {
+                if (startPool != null && level.size() > 1) {
+                    createSingletonsInParallel(building, level);
+                } else {
+                    level.forEach(id -> building.cells[id] = createBean(building, id));
+                }
+            }
+        } finally {
+            startup = null;
+        }
+
+        ContextStartEvent startEvent = event;
+        long startedAt = started;
+        List<CompletableFuture<?>> hooks = Arrays.stream(pending).filter(Objects::nonNull).toList();
+        starting = allReady(hooks).thenRun(() -> {
+            if (metrics != null) {
+                metrics.recordStart(System.nanoTime() - startedAt);
+                metrics.recordStartupProfile(StartupProfile.of(building.definitions, building.dependencyOffsets,
+                        building.dependencyIds, metrics));
+                startEvent.contextClass = getClass();
+                startEvent.beanCount = beanDefinitions.size();
+                startEvent.singletonCount = levels.stream().mapToInt(List::size).sum();
+                startEvent.commit();
+            }
+
+            registry = building.withTypes(types.withInstances(beanDefinitions, building::singleton));
+            status = ContextStatus.STARTED;
+            synchronized (scheduledJobs) {
+                scheduledJobs.values().forEach(jobs -> jobs.forEach(ScheduledJob::start));
             }
         });
+        return starting;
+    }
+
+    /**
+     * Выдает бинам номера в порядке {@code names}, распределяет слоты скоупов и переводит зависимости в номера.
+     * Зависимости из родительского контекста привязываются к его {@link BeanHandle}.
+     */
+    private Registry buildRegistry(List<String> names) {
+        int size = names.size();
+        Map<String, Integer> ids = new HashMap<>(size * 2);
+        BeanInfo[] definitions = new BeanInfo[size];
+        Object[] cells = new Object[size];
+        for (int id = 0; id < size; id++) {
+            BeanInfo beanInfo = beanDefinitions.get(names.get(id));
+            ids.put(beanInfo.name, id);
+            definitions[id] = beanInfo;
+            if (beanInfo.lazy) {
+                cells[id] = new LazySingleton();
+            } else if (beanInfo.scope != BeanScope.SINGLETON) {
+                cells[id] = allocateSlot(beanInfo);
+            }
+        }
+        scopeSlots.forEach(Scope::init);
+
+        int[] offsets = new int[size + 1];
+        for (int id = 0; id < size; id++) {
+            offsets[id + 1] = offsets[id] + dependencies.get(names.get(id)).size();
+        }
+        int[] dependencyIds = new int[offsets[size]];
+        List<BeanHandle<?>> external = new ArrayList<>();
+        for (int id = 0; id < size; id++) {
+            int edge = offsets[id];
+            for (String dependency : dependencies.get(names.get(id))) {
+                Integer dependencyId = ids.get(dependency);
+                dependencyIds[edge++] = dependencyId != null ? dependencyId : externalId(external, dependency);
+            }
+        }
+
+        return new Registry(Map.copyOf(ids), definitions, cells, offsets, dependencyIds,
+                external.toArray(new BeanHandle<?>[0]), types);
+    }
+
+    /**
+     * @return номер зависимости из родительского контекста
+     * @throws NoSuchBeanDefinitionException если зависимости нет и в родителе
+     */
+    private int externalId(List<BeanHandle<?>> external, String name) {
+        for (int i = 0; i < external.size(); i++) {
+            if (external.get(i).getName().equals(name)) {
+                return -(i + 1);
+            }
+        }
+        if (parent == null) {
+            throw new NoSuchBeanDefinitionException(name);
+        }
+        external.add(parent.getHandle(name, Object.class));
+        return -external.size();
+    }
+
+    /**
+     * Задает пул для асинхронных {@code @PostConstruct} методов. По умолчанию используется общий пул daemon потоков,
+     * растущий по требованию, так как такие методы обычно заняты вводом-выводом.
+     *
+     * @param executor пул для асинхронных методов
+     * @throws IllegalStateException если контекст уже запущен
+     */
+    public synchronized void setAsyncExecutor(Executor executor) {
+        if (starting != null) {
+            throw new IllegalStateException("Executor must be set before the context is started");
+        }
+        this.asyncExecutor = executor;
+    }
 
-        singletons.forEach((name, instance) -> injectDependencies(beanDefinitions.get(name), instance));
+    /**
+     * Задает максимальное число одновременно выполняемых {@code @Async} методов бинов контекста. По умолчанию - четыре
+     * на каждый процессор, так как такие методы обычно заняты вводом-выводом.
+     *
+     * @throws IllegalStateException если контекст уже запущен
+     * @throws IllegalArgumentException если {@code maxConcurrency} не положительное
+     */
+    public synchronized void setAsyncConcurrency(int maxConcurrency) {
+        if (starting != null) {
+            throw new IllegalStateException("Async concurrency must be set before the context is started");
+        }
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Async concurrency must be positive");
+        }
+        this.asyncConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @return статистика пула {@code @Async} методов
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     */
+    public AsyncStats getAsyncStats() {
+        runningRegistry();
+        return asyncMethods.stats();
+    }
+
+    /**
+     * Закрывает контекст: отменяются следующие вызовы {@code @Scheduled} методов, пул {@code @Async} методов
+     * перестает принимать новые вызовы, уже принятые вызовы выполняются до конца, а новые сразу завершаются
+     * {@link java.util.concurrent.RejectedExecutionException}. Бины остаются доступны. Повторный вызов ничего не
+     * делает.
+     */
+    @Override
+    public synchronized void close() {
+        synchronized (scheduledJobs) {
+            scheduledJobs.values().forEach(jobs -> jobs.forEach(ScheduledJob::cancel));
+            scheduledJobs.clear();
+        }
+        if (asyncMethods != null) {
+            asyncMethods.shutdown();
+        }
+    }
+
+    /**
+     * Включает инструментацию: при старте и при каждом создании бина замеряется время создания инстанса,
+     * внедрения зависимостей и {@code @PostConstruct}, считаются вызовы {@code getBean} для каждого бина, а также
+     * публикуются события JDK Flight Recorder {@code by.bsu.dependency.ContextStart} и
+     * {@code by.bsu.dependency.BeanCreation}. После старта по замерам строится {@link StartupProfile} с
+     * критическим путем старта. Должна включаться до старта контекста.
+     * <br/>
+     * Без инструментации контекст ничего не замеряет и не создает событий.
+     *
+     * @throws IllegalStateException если контекст уже запущен
+     */
+    public synchronized void enableMetrics() {
+        if (starting != null) {
+            throw new IllegalStateException("Metrics must be enabled before the context is started");
+        }
+        metricsEnabled = true;
+    }
+
+    /**
+     * @return метрики контекста или {@code Optional.empty()}, если инструментация не включена
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     */
+    public Optional<ContextMetrics> getMetrics() {
+        runningRegistry();
+        return Optional.ofNullable(metrics);
+    }
+
+    /**
+     * Регистрирует скоуп, который будет использоваться для бинов {@code @Bean(scope = CUSTOM, scopeName = name)}.
+     * Должен вызываться до старта контекста.
+     *
+     * @param name  имя скоупа
+     * @param scope реализация скоупа, принадлежащая только этому контексту
+     * @throws IllegalStateException если контекст уже запущен
+     */
+    public synchronized void registerScope(String name, Scope scope) {
+        if (starting != null) {
+            throw new IllegalStateException("Scopes must be registered before the context is started");
+        }
+        scopes.put(name, scope);
+    }
+
+    /**
+     * Выполняет {@code action} внутри нового запроса: бины со скоупом {@code REQUEST} создаются не более одного раза
+     * за время выполнения и доступны только из текущего потока. Дочерний контекст открывает запрос и во всех
+     * родительских контекстах.
+     *
+     * @param action действие
+     */
+    public void runInRequest(Runnable action) {
+        try {
+            callInRequest(() -> {
+                action.run();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-        singletons.forEach((name, instance) -> executePostConstruct(beanDefinitions.get(name), instance));
+    /**
+     * То же, что {@link #runInRequest}, но возвращает результат {@code action}.
+     *
+     * @param action действие
+     * @return результат действия
+     * @throws Exception исключение, брошенное действием
+     */
+    public <T> T callInRequest(Callable<T> action) throws Exception {
+        if (parent != null) {
+            return parent.callInRequest(() -> requestScope.call(action));
+        }
+        return requestScope.call(action);
+    }
 
-        status = ContextStatus.STARTED;
+    /**
+     * Включает параллельный старт контекста: {@code SINGLETON} бины одного уровня графа зависимостей не зависят
+     * друг от друга и создаются одновременно в {@code pool}. Уровни обрабатываются строго по порядку.
+     * <br/>
+     * Если при создании бинов уровня возникли ошибки, бросается ошибка бина с наименьшим именем, остальные
+     * добавляются к ней как suppressed.
+     *
+     * @param pool пул для создания бинов, {@code null} - последовательный старт (по умолчанию)
+     */
+    public void setParallelStart(ForkJoinPool pool) {
+        this.startPool = pool;
+    }
+
+    /**
+     * Регистрирует бин в запущенном контексте. Проверяются и разрешаются только зависимости нового бина: остальные
+     * бины не могут от него зависеть, поэтому цикл не возникает. {@code SINGLETON} бин создается сразу, остальные
+     * бины не создаются.
+     * <br/>
+     * Новая таблица бинов публикуется атомарно: вызовы {@code getBean} в других потоках видят либо старую таблицу,
+     * либо новую целиком. Уже внедренные зависимости других бинов не меняются, даже если новый бин подходит по типу.
+     *
+     * @param beanClass класс бина
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws IllegalStateException если бин с таким именем уже есть в контексте
+     * @throws NoSuchBeanDefinitionException если зависимость бина не объявлена
+     */
+    public synchronized void registerBean(Class<?> beanClass) {
+        Registry current = runningRegistry();
+        BeanInfo beanInfo = BeanInfo.of(beanClass);
+        String name = beanInfo.name;
+        if (current.ids.containsKey(name)) {
+            throw new IllegalStateException("Bean is already registered: " + name);
+        }
+
+        int id = current.definitions.length;
+        Map<String, Integer> ids = new HashMap<>(current.ids);
+        ids.put(name, id);
+        BeanInfo[] definitions = Arrays.copyOf(current.definitions, id + 1);
+        definitions[id] = beanInfo;
+        Object[] cells = Arrays.copyOf(current.cells, id + 1);
+        Map<String, BeanInfo> updatedDefinitions = new HashMap<>(beanDefinitions);
+        updatedDefinitions.put(name, beanInfo);
+        TypeIndex indexed = current.types.withBean(name, updatedDefinitions, current::singleton);
+
+        List<String> beanDependencies = beanInfo.getDependencyTypes().stream()
+                .map(type -> resolveDependencyName(indexed, type))
+                .toList();
+        int[] offsets = Arrays.copyOf(current.dependencyOffsets, id + 2);
+        offsets[id + 1] = offsets[id] + beanDependencies.size();
+        int[] dependencyIds = Arrays.copyOf(current.dependencyIds, offsets[id + 1]);
+        List<BeanHandle<?>> external = new ArrayList<>(List.of(current.external));
+        int edge = offsets[id];
+        for (String dependency : beanDependencies) {
+            if (dependency.equals(name)) {
+                throw new DependencyLoopException(List.of(name, name));
+            }
+            Integer dependencyId = ids.get(dependency);
+            dependencyIds[edge++] = dependencyId != null ? dependencyId : externalId(external, dependency);
+        }
+
+        beanInfo.getPlan();
+        checkInterceptedDependencies(beanInfo, beanDependencies);
+        if (beanInfo.lazy) {
+            cells[id] = new LazySingleton();
+        } else if (beanInfo.scope != BeanScope.SINGLETON) {
+            ScopedBean scopedBean = allocateSlot(beanInfo);
+            scopedBean.scope().init(scopeSlots.get(scopedBean.scope()));
+            cells[id] = scopedBean;
+        }
+        if (metrics != null) {
+            metrics.register(beanInfo);
+        }
+
+        Registry building = new Registry(Map.copyOf(ids), definitions, cells, offsets, dependencyIds,
+                external.toArray(new BeanHandle<?>[0]), indexed);
+        if (beanInfo.scope == BeanScope.SINGLETON && !beanInfo.lazy) {
+            cells[id] = createBean(building, id);
+            building = building.withTypes(current.types.withBean(name, updatedDefinitions, building::singleton));
+        }
+
+        registry = building;
+        beanDefinitions.put(name, beanInfo);
+        dependencies.put(name, beanDependencies);
+        types = building.types;
+        synchronized (scheduledJobs) {
+            scheduledJobs.getOrDefault(name, List.of()).forEach(ScheduledJob::start);
+        }
+    }
+
+    /**
+     * Удаляет бин из запущенного контекста. Бин, от которого зависят другие бины контекста, удалить нельзя.
+     * Уже полученные инстансы бина продолжают работать, {@code getBean} в других потоках видит либо старую таблицу
+     * бинов, либо новую целиком. {@link BeanHandle} удаленного бина перестает работать.
+     * <br/>
+     * Бины дочерних контекстов не проверяются: удаление бина, от которого они зависят, приведет к ошибке при
+     * получении их бинов.
+     *
+     * @param name имя бина
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws NoSuchBeanDefinitionException если бин с таким именем не был объявлен в этом контексте
+     * @throws IllegalStateException если от бина зависят другие бины
+     */
+    public synchronized void removeBean(String name) {
+        Registry current = runningRegistry();
+        int id = current.id(name);
+        if (id < 0) {
+            throw new NoSuchBeanDefinitionException(name);
+        }
+        List<String> dependents = new ArrayList<>();
+        for (int bean = 0; bean < current.definitions.length; bean++) {
+            if (current.definitions[bean] == null) {
+                continue;
+            }
+            for (int edge = current.dependencyOffsets[bean]; edge < current.dependencyOffsets[bean + 1]; edge++) {
+                if (current.dependencyIds[edge] == id) {
+                    dependents.add(current.definitions[bean].name);
+                    break;
+                }
+            }
+        }
+        if (!dependents.isEmpty()) {
+            Collections.sort(dependents);
+            throw new IllegalStateException("Bean " + name + " is required by " + dependents);
+        }
+
+        BeanInfo beanInfo = current.definitions[id];
+        Map<String, Integer> ids = new HashMap<>(current.ids);
+        ids.remove(name);
+        BeanInfo[] definitions = current.definitions.clone();
+        definitions[id] = null;
+        Object[] cells = current.cells.clone();
+        cells[id] = null;
+        Map<String, BeanInfo> updatedDefinitions = new HashMap<>(beanDefinitions);
+        updatedDefinitions.remove(name);
+        TypeIndex updatedTypes = current.types.withoutBean(name, beanInfo.beanClass, updatedDefinitions,
+                current::singleton);
+
+        registry = new Registry(Map.copyOf(ids), definitions, cells, current.dependencyOffsets,
+                current.dependencyIds, current.external, updatedTypes);
+        beanDefinitions.remove(name);
+        dependencies.remove(name);
+        types = updatedTypes;
+        synchronized (scheduledJobs) {
+            List<ScheduledJob> jobs = scheduledJobs.remove(name);
+            if (jobs != null) {
+                jobs.forEach(ScheduledJob::cancel);
+            }
+        }
     }
 
     @Override
@@ -76,106 +614,649 @@ public abstract class AbstractApplicationContext implements ApplicationContext {
         return status == ContextStatus.STARTED;
     }
 
+    /**
+     * @return родительский контекст или {@code Optional.empty()}, если контекст не дочерний
+     */
+    public Optional<AbstractApplicationContext> getParent() {
+        return Optional.ofNullable(parent);
+    }
+
     @Override
     public boolean containsBean(String name) {
-        if (!isRunning()) {
-            throw new ApplicationContextNotStartedException();
-        }
-        return beanDefinitions.containsKey(name);
+        return runningRegistry().ids.containsKey(name) || parent != null && parent.containsBean(name);
     }
 
     @Override
     public Object getBean(String name) {
-        if (!containsBean(name)) {
+        Registry current = runningRegistry();
+        int id = current.id(name);
+        if (id < 0) {
+            if (parent != null) {
+                return parent.getBean(name);
+            }
             throw new NoSuchBeanDefinitionException(name);
         }
-        return getBeanInstance(name);
+        if (metrics != null) {
+            metrics.get(name).recordRequest();
+        }
+        return getBeanInstance(current, id);
     }
 
+    /**
+     * Возвращает бин по классу, суперклассу или интерфейсу. Если подходящих бинов несколько, выбирается бин,
+     * класс которого совпадает с {@code clazz}.
+     *
+     * @throws NoUniqueBeanDefinitionException если подходящих бинов несколько и ни один не совпадает по классу
+     * @throws BeanNotOfRequiredTypeException если бин с перехватчиками запрошен не по интерфейсу
+     */
     @Override
     public <T> T getBean(Class<T> clazz) {
-        return clazz.cast(getBean(BeanInfo.getName(clazz)));
+        Registry current = runningRegistry();
+        TypeIndex.Entry entry = current.types.get(clazz);
+        if (entry == null) {
+            if (parent != null) {
+                return parent.getBean(clazz);
+            }
+            throw new NoSuchBeanDefinitionException(BeanInfo.getName(clazz));
+        }
+        if (entry.primary() == null) {
+            throw new NoUniqueBeanDefinitionException(clazz, entry.names());
+        }
+        int id = current.id(entry.primary());
+        checkRequestedType(current.definitions[id], clazz);
+        if (metrics != null) {
+            metrics.get(entry.primary()).recordRequest();
+        }
+        return clazz.cast(getBeanInstance(current, id));
+    }
+
+    /**
+     * Возвращает ссылку на бин {@code name}: поиск по имени выполняется один раз, а {@link BeanHandle#get()}
+     * обращается к бину по номеру без поиска.
+     *
+     * @param name имя бина
+     * @param type тип, к которому приводится бин
+     * @throws NoSuchBeanDefinitionException если бин с таким именем не был объявлен.
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws IllegalArgumentException если бин не приводится к {@code type}
+     * @throws BeanNotOfRequiredTypeException если бин с перехватчиками запрошен не по интерфейсу
+     */
+    public <T> BeanHandle<T> getHandle(String name, Class<T> type) {
+        Registry current = runningRegistry();
+        int id = current.id(name);
+        if (id < 0) {
+            if (parent != null) {
+                return parent.getHandle(name, type);
+            }
+            throw new NoSuchBeanDefinitionException(name);
+        }
+        if (!type.isAssignableFrom(current.definitions[id].beanClass)) {
+            throw new IllegalArgumentException("Bean " + name + " is not an instance of " + type.getName());
+        }
+        checkRequestedType(current.definitions[id], type);
+        return new BeanHandle<>(this, id, name, type);
+    }
+
+    /**
+     * Возвращает ссылку на бин по классу, суперклассу или интерфейсу, выбирая бин так же, как {@link #getBean(Class)}.
+     *
+     * @param clazz тип бина
+     * @throws NoSuchBeanDefinitionException если бин такого типа не был объявлен.
+     * @throws NoUniqueBeanDefinitionException если подходящих бинов несколько и ни один не совпадает по классу
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws BeanNotOfRequiredTypeException если бин с перехватчиками запрошен не по интерфейсу
+     */
+    public <T> BeanHandle<T> getHandle(Class<T> clazz) {
+        Registry current = runningRegistry();
+        TypeIndex.Entry entry = current.types.get(clazz);
+        if (entry == null) {
+            if (parent != null) {
+                return parent.getHandle(clazz);
+            }
+            throw new NoSuchBeanDefinitionException(BeanInfo.getName(clazz));
+        }
+        if (entry.primary() == null) {
+            throw new NoUniqueBeanDefinitionException(clazz, entry.names());
+        }
+        int id = current.id(entry.primary());
+        checkRequestedType(current.definitions[id], clazz);
+        return new BeanHandle<>(this, id, entry.primary(), clazz);
+    }
+
+    /**
+     * Возвращает бин по номеру из {@link BeanHandle}.
+     *
+     * @param request {@code true}, если это запрос бина пользователем, а не внедрение зависимости
+     */
+    Object getBean(int id, String name, boolean request) {
+        Registry current = runningRegistry();
+        if (id >= current.definitions.length || current.definitions[id] == null) {
+            throw new NoSuchBeanDefinitionException(name);
+        }
+        if (request && metrics != null) {
+            metrics.get(name).recordRequest();
+        }
+        return getBeanInstance(current, id);
     }
 
+    /**
+     * {@inheritDoc}
+     * <br/>
+     * Дочерний контекст возвращает также бины родителя, кроме перекрытых бинами с тем же именем.
+     *
+     * @throws BeanNotOfRequiredTypeException если среди бинов есть бин с перехватчиками, а {@code clazz} - не
+     * интерфейс
+     */
     @Override
-    public boolean isPrototype(String name) {
-        if (!beanDefinitions.containsKey(name)) {
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> getBeansOfType(Class<T> clazz) {
+        Registry current = runningRegistry();
+        TypeIndex.Entry entry = current.types.get(clazz);
+        Map<String, T> inherited = parent != null ? parent.getBeansOfType(clazz) : Map.of();
+        if (entry == null) {
+            return inherited;
+        }
+        for (String name : entry.names()) {
+            checkRequestedType(current.definitions[current.id(name)], clazz);
+        }
+        if (entry.instances() != null && inherited.isEmpty()) {
+            return (Map<String, T>) entry.instances();
+        }
+
+        Map<String, T> beans = new LinkedHashMap<>(inherited);
+        for (String name : entry.names()) {
+            beans.put(name, clazz.cast(getBeanInstance(current, current.id(name))));
+        }
+        return Collections.unmodifiableMap(beans);
+    }
+
+    /**
+     * Берет инстанс бина со скоупом {@code POOLED} из пула. Если свободных инстансов нет, создается новый.
+     * Для остальных скоупов эквивалентно {@code getBean}.
+     * <br/>
+     * {@code getBean} и внедрение {@code POOLED} бина тоже берут инстанс из пула, но не возвращают его.
+     *
+     * @param name имя бина
+     * @throws NoSuchBeanDefinitionException если бин с таким именем не был объявлен.
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @return инстанс бина, который нужно вернуть через {@link #returnBean}
+     */
+    public Object borrowBean(String name) {
+        return getBean(name);
+    }
+
+    /**
+     * Возвращает инстанс бина со скоупом {@code POOLED} в пул, предварительно вызвав его метод {@code @Reset}.
+     * Если пул заполнен, инстанс отбрасывается.
+     *
+     * @param name имя бина
+     * @param bean инстанс, полученный из {@link #borrowBean}
+     * @throws NoSuchBeanDefinitionException если бин с таким именем не был объявлен.
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws IllegalArgumentException если бин не имеет скоуп {@code POOLED} или инстанс другого класса
+     */
+    public void returnBean(String name, Object bean) {
+        Registry current = runningRegistry();
+        int id = current.id(name);
+        if (id < 0 && parent != null) {
+            parent.returnBean(name, bean);
+            return;
+        }
+        BeanPool pool = getPool(current, name);
+        BeanInfo beanInfo = current.definitions[id];
+        if (!beanInfo.beanClass.isInstance(bean)) {
+            throw new IllegalArgumentException("Object is not an instance of bean " + name);
+        }
+        beanInfo.getPlan().reset(bean);
+        pool.offer(bean);
+    }
+
+    /**
+     * Возвращает статистику попаданий в пул бина со скоупом {@code POOLED}.
+     *
+     * @param name имя бина
+     * @throws NoSuchBeanDefinitionException если бин с таким именем не был объявлен.
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws IllegalArgumentException если бин не имеет скоуп {@code POOLED}
+     */
+    public PoolStats getPoolStats(String name) {
+        return getPool(runningRegistry(), name).stats();
+    }
+
+    /**
+     * @param name имя бина со скоупом {@code SINGLETON}
+     * @return статистика кешей {@code @Cacheable} методов бина по сигнатуре метода, например {@code "fib(int)"};
+     * пустая, если у бина нет таких методов
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @throws IllegalArgumentException если бин не имеет скоуп {@code SINGLETON}
+     */
+    public Map<String, CacheStats> getCacheStats(String name) {
+        if (!isSingleton(name)) {
+            throw new IllegalArgumentException("Bean is not a singleton: " + name);
+        }
+        return InterceptionPlan.cacheStats(getBean(name));
+    }
+
+    private BeanPool getPool(Registry current, String name) {
+        int id = current.id(name);
+        if (id < 0) {
+            if (parent != null) {
+                return parent.getPool(parent.runningRegistry(), name);
+            }
             throw new NoSuchBeanDefinitionException(name);
         }
-        return beanDefinitions.get(name).scope == BeanScope.PROTOTYPE;
+        if (!(current.cells[id] instanceof ScopedBean scoped) || !(scoped.scope() instanceof BeanPool pool)) {
+            throw new IllegalArgumentException("Bean " + name + " is not pooled");
+        }
+        return pool;
+    }
+
+    /**
+     * Выдает бину следующий свободный слот в его скоупе.
+     */
+    private ScopedBean allocateSlot(BeanInfo beanInfo) {
+        Scope scope = resolveScope(beanInfo);
+        int slot = scopeSlots.merge(scope, 1, Integer::sum) - 1;
+        return new ScopedBean(scope, slot);
+    }
+
+    private Scope resolveScope(BeanInfo beanInfo) {
+        return switch (beanInfo.scope) {
+            case PROTOTYPE -> PROTOTYPE_SCOPE;
+            case POOLED -> new BeanPool(beanInfo.poolSize);
+            case THREAD -> threadScope;
+            case REQUEST -> requestScope;
+            case CUSTOM -> {
+                Scope scope = scopes.get(beanInfo.scopeName);
+                if (scope == null) {
+                    throw new IllegalStateException("Scope is not registered: " + beanInfo.scopeName);
+                }
+                yield scope;
+            }
+            case SINGLETON -> throw new IllegalArgumentException("Singleton beans have no scope object");
+        };
+    }
+
+    @Override
+    public boolean isPrototype(String name) {
+        return getDefinition(name).scope == BeanScope.PROTOTYPE;
     }
 
     @Override
     public boolean isSingleton(String name) {
-        if (!beanDefinitions.containsKey(name)) {
+        return getDefinition(name).scope == BeanScope.SINGLETON;
+    }
+
+    /**
+     * Имя бина для внедрения в поле типа {@code type}. Бины контекста имеют приоритет над бинами родителей, ближний
+     * родитель - над дальними. Если бинов такого типа нет, возвращается имя по умолчанию, отсутствие определения
+     * обнаруживается при старте.
+     */
+    private String resolveDependencyName(Class<?> type) {
+        return resolveDependencyName(types, type);
+    }
+
+    private String resolveDependencyName(TypeIndex types, Class<?> type) {
+        String name = types.resolveName(type);
+        AbstractApplicationContext ancestor = parent;
+        while (name == null && ancestor != null) {
+            name = ancestor.runningRegistry().types.resolveName(type);
+            ancestor = ancestor.parent;
+        }
+        return name != null ? name : BeanInfo.getName(type);
+    }
+
+    /**
+     * Зависимости бинов без ребер к бинам родителя: граф дочернего контекста содержит только его собственные бины,
+     * а бины родителя уже созданы.
+     *
+     * @throws NoSuchBeanDefinitionException если зависимости нет ни в контексте, ни в родителе
+     */
+    private Map<String, List<String>> localDependencies() {
+        if (parent == null) {
+            return dependencies;
+        }
+        Map<String, List<String>> local = new HashMap<>();
+        dependencies.forEach((name, names) -> {
+            List<String> own = new ArrayList<>(names.size());
+            for (String dependency : names) {
+                if (beanDefinitions.containsKey(dependency)) {
+                    own.add(dependency);
+                } else if (!parent.containsBean(dependency)) {
+                    throw new NoSuchBeanDefinitionException(dependency);
+                }
+            }
+            local.put(name, own);
+        });
+        return local;
+    }
+
+    private Registry runningRegistry() {
+        Registry current = registry;
+        if (current == null) {
+            throw new ApplicationContextNotStartedException();
+        }
+        return current;
+    }
+
+    private BeanInfo getDefinition(String name) {
+        Registry current = registry;
+        BeanInfo beanInfo;
+        if (current != null) {
+            int id = current.id(name);
+            beanInfo = id >= 0 ? current.definitions[id] : null;
+        } else {
+            synchronized (this) {
+                beanInfo = beanDefinitions.get(name);
+            }
+        }
+        if (beanInfo == null && parent != null) {
+            return parent.getDefinition(name);
+        }
+        if (beanInfo == null) {
             throw new NoSuchBeanDefinitionException(name);
         }
-        return beanDefinitions.get(name).scope == BeanScope.SINGLETON;
+        return beanInfo;
+    }
+
+    /**
+     * Разбивает неленивые {@code SINGLETON} бины на уровни топологического порядка: бины одного уровня не зависят
+     * друг от друга (в том числе через {@code PROTOTYPE} и ленивые бины). Внутри уровня имена отсортированы.
+     */
+    private List<List<Integer>> singletonLevels(Registry building) {
+        List<List<Integer>> result = new ArrayList<>();
+        for (int id = 0; id < building.definitions.length; id++) {
+            BeanInfo beanInfo = building.definitions[id];
+            if (beanInfo.scope == BeanScope.SINGLETON && !beanInfo.lazy) {
+                int level = order.levels()[id];
+                while (result.size() <= level) {
+                    result.add(new ArrayList<>());
+                }
+                result.get(level).add(id);
+            }
+        }
+        result.forEach(level -> level.sort(Comparator.comparing(id -> building.definitions[id].name)));
+        return result;
+    }
+
+    private void createSingletonsInParallel(Registry building, List<Integer> level) {
+        Object[] instances = new Object[level.size()];
+        RuntimeException[] failures = new RuntimeException[level.size()];
+
+        startPool.submit(() -> IntStream.range(0, level.size()).parallel().forEach(i -> {
+            try {
+                instances[i] = createBean(building, level.get(i));
+            } catch (RuntimeException e) {
+                failures[i] = e;
+            }
+        })).join();
+
+        RuntimeException failure = null;
+        for (int i = 0; i < level.size(); i++) {
+            if (failures[i] == null) {
+                building.cells[level.get(i)] = instances[i];
+            } else if (failure == null) {
+                failure = failures[i];
+            } else {
+                failure.addSuppressed(failures[i]);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Бин с перехватчиками - прокси его интерфейсов, поэтому внедрять его можно только по интерфейсу.
+     */
+    private void checkInterceptedDependencies(BeanInfo beanInfo, List<String> beanDependencies) {
+        List<Class<?>> dependencyTypes = beanInfo.getDependencyTypes();
+        for (int i = 0; i < beanDependencies.size(); i++) {
+            BeanInfo dependency = beanDefinitions.get(beanDependencies.get(i));
+            if (dependency != null && !dependencyTypes.get(i).isInterface() && dependency.getPlan().isIntercepted()) {
+                throw new RuntimeException("Bean " + dependency.name + " with interceptors must be injected into "
+                        + beanInfo.name + " by interface");
+            }
+        }
     }
 
-    private void validateDependencyGraph() {
-        if (!graph.isEmpty()) {
-            dfs(graph.keySet().iterator().next());
+    /**
+     * Инстанс бина с перехватчиками - прокси его интерфейсов, поэтому по классу или суперклассу его не получить.
+     *
+     * @throws BeanNotOfRequiredTypeException если бин с перехватчиками запрошен не по интерфейсу
+     */
+    private static void checkRequestedType(BeanInfo beanInfo, Class<?> type) {
+        if (type.isInterface() || type == Object.class || !beanInfo.getPlan().isIntercepted()) {
+            return;
+        }
+        List<Class<?>> interfaces = new ArrayList<>();
+        for (Class<?> clazz = beanInfo.beanClass; clazz != null; clazz = clazz.getSuperclass()) {
+            interfaces.addAll(List.of(clazz.getInterfaces()));
         }
+        throw new BeanNotOfRequiredTypeException(beanInfo.name, type, interfaces);
     }
 
-    private void dfs(String name) {
-        Node node = graph.get(name);
-        if (node.status == NodeStatus.ACTIVE) {
-            throw new DependencyLoopException(name);
+    private Object createBean(Registry current, int id) {
+        BeanInfo beanInfo = current.definitions[id];
+        return createBean(current, id, beanInfo, dependencyResolver(current, id, beanInfo));
+    }
+
+    private Object createBean(Registry current, int id, BeanInfo beanInfo, IntFunction<Object> resolver) {
+        if (metrics != null) {
+            return createBeanWithMetrics(current, id, beanInfo, resolver);
         }
+        var instance = instantiateBean(beanInfo, resolver);
+        injectDependencies(beanInfo, instance, resolver);
+        executePostConstruct(current, id, beanInfo, instance, null);
+        return complete(beanInfo, instance);
+    }
 
-        if (node.status == NodeStatus.NOT_VISITED) {
-            node.status = NodeStatus.ACTIVE;
-            for (String dependency : node.children) {
-                dfs(dependency);
+    /**
+     * Запоминает вызовы {@code @Scheduled} методов готового бина, которые запускаются после старта контекста, и
+     * оборачивает бин в прокси перехватчиков. Методы вызываются у самого бина, без перехватчиков.
+     */
+    private Object complete(BeanInfo beanInfo, Object instance) {
+        CreationPlan plan = beanInfo.getPlan();
+        List<ScheduledJob> jobs = plan.scheduledJobs(instance, asyncMethods, TimingWheel.shared());
+        if (!jobs.isEmpty()) {
+            synchronized (scheduledJobs) {
+                scheduledJobs.put(beanInfo.name, jobs);
             }
-            node.status = NodeStatus.VISITED;
         }
+        return plan.intercept(instance, asyncMethods);
+    }
+
+    private Object createBeanWithMetrics(Registry current, int id, BeanInfo beanInfo, IntFunction<Object> resolver) {
+        BeanCreationEvent event = new BeanCreationEvent();
+        event.begin();
+
+        long started = System.nanoTime();
+        var instance = instantiateBean(beanInfo, resolver);
+        long instantiated = System.nanoTime();
+        injectDependencies(beanInfo, instance, resolver);
+        long injected = System.nanoTime();
+        executePostConstruct(current, id, beanInfo, instance, postConstructTime -> {
+            metrics.get(beanInfo.name).recordCreation(instantiated - started, injected - instantiated,
+                    postConstructTime);
+
+            if (event.shouldCommit()) {
+                event.beanName = beanInfo.name;
+                event.scope = beanInfo.scope.name();
+                event.instantiateTime = instantiated - started;
+                event.injectTime = injected - instantiated;
+                event.postConstructTime = postConstructTime;
+                event.commit();
+            }
+        });
+        return complete(beanInfo, instance);
     }
 
-    private Object getBeanInstance(String name) {
-        if (isSingleton(name)) {
-            return singletons.get(name);
+    private Object getBeanInstance(Registry current, int id) {
+        if (id < 0) {
+            return current.external[-id - 1].resolve();
+        }
+        BeanInfo beanInfo = current.definitions[id];
+        Object cell = current.cells[id];
+        if (beanInfo.scope == BeanScope.SINGLETON) {
+            return beanInfo.lazy ? getLazySingleton((LazySingleton) cell, () -> createBean(current, id)) : cell;
         }
 
-        BeanInfo beanInfo = beanDefinitions.get(name);
-        var instance = instantiateBean(beanInfo);
-        injectDependencies(beanInfo, instance);
-        executePostConstruct(beanInfo, instance);
+        ScopedBean scoped = (ScopedBean) cell;
+        return scoped.scope().get(scoped.slot(), () -> createBean(current, id));
+    }
+
+    private static Object getLazySingleton(LazySingleton holder, Supplier<Object> factory) {
+        Object instance = holder.instance;
+        if (instance == null) {
+            synchronized (holder) {
+                instance = holder.instance;
+                if (instance == null) {
+                    instance = factory.get();
+                    holder.instance = instance;
+                }
+            }
+        }
         return instance;
     }
 
-    private Object instantiateBean(BeanInfo beanInfo) {
-        try {
-            return beanInfo.beanClass.getConstructor().newInstance();
-        } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException |
-                 InstantiationException e) {
-            throw new RuntimeException(e);
+    private IntFunction<Object> dependencyResolver(Registry current, int id, BeanInfo beanInfo) {
+        int offset = current.dependencyOffsets[id];
+        return i -> beanInfo.isProviderDependency(i)
+                ? (Provider<Object>) bind(current, current.dependencyIds[offset + i])::get
+                : getBeanInstance(current, current.dependencyIds[offset + i]);
+    }
+
+    /**
+     * Привязывает фабрику к бину {@code id}: все обращения к таблице бинов выполняются один раз здесь, а вызов
+     * фабрики обращается только к плану создания бина, его скоупу и уже привязанным фабрикам зависимостей.
+     * <br/>
+     * Вызывается при внедрении {@link Provider}, когда все неленивые {@code SINGLETON} зависимости бина уже созданы.
+     */
+    private Supplier<Object> bind(Registry current, int id) {
+        if (id < 0) {
+            BeanHandle<?> handle = current.external[-id - 1];
+            return handle::resolve;
+        }
+        BeanInfo beanInfo = current.definitions[id];
+        Object cell = current.cells[id];
+        if (beanInfo.scope == BeanScope.SINGLETON && !beanInfo.lazy) {
+            return () -> cell;
+        }
+
+        int offset = current.dependencyOffsets[id];
+        int count = current.dependencyOffsets[id + 1] - offset;
+        List<Supplier<Object>> bound = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Supplier<Object> dependency = bind(current, current.dependencyIds[offset + i]);
+            if (beanInfo.isProviderDependency(i)) {
+                Provider<Object> provider = dependency::get;
+                bound.add(() -> provider);
+            } else {
+                bound.add(dependency);
+            }
+        }
+        IntFunction<Object> resolver = i -> bound.get(i).get();
+        Supplier<Object> factory = () -> createBean(current, id, beanInfo, resolver);
+
+        if (beanInfo.lazy) {
+            LazySingleton holder = (LazySingleton) cell;
+            return () -> getLazySingleton(holder, factory);
         }
+        ScopedBean scoped = (ScopedBean) cell;
+        if (scoped.scope() == PROTOTYPE_SCOPE) {
+            return factory;
+        }
+        Scope scope = scoped.scope();
+        int slot = scoped.slot();
+        return () -> scope.get(slot, factory);
     }
 
-    private void injectDependencies(BeanInfo beanInfo, Object bean) {
-        try {
-            for (Field field : beanInfo.dependencies) {
-                field.setAccessible(true);
-                field.set(bean, getBeanInstance(BeanInfo.getName(field.getType())));
+    private Object instantiateBean(BeanInfo beanInfo, IntFunction<Object> resolver) {
+        return beanInfo.getPlan().instantiate(resolver);
+    }
+
+    private void injectDependencies(BeanInfo beanInfo, Object bean, IntFunction<Object> resolver) {
+        beanInfo.getPlan().inject(bean, resolver);
+    }
+
+    /**
+     * Вне старта контекста просто вызывает метод {@code @PostConstruct}. Во время старта для неленивого
+     * {@code SINGLETON} бина откладывает вызов до готовности его зависимостей и запоминает future готовности бина,
+     * для остальных бинов дожидается готовности зависимостей в текущем потоке.
+     *
+     * @param finished если не {@code null}, получает время выполнения метода после его завершения, в том числе
+     *                 отложенного или асинхронного; ожидание зависимостей в это время не входит
+     */
+    private void executePostConstruct(Registry current, int id, BeanInfo beanInfo, Object bean,
+                                      LongConsumer finished) {
+        CompletableFuture<?>[] pending = startup;
+        CreationPlan plan = beanInfo.getPlan();
+        if (pending == null) {
+            postConstruct(plan, bean, finished);
+            return;
+        }
+
+        List<CompletableFuture<?>> waiting = new ArrayList<>();
+        for (int edge = current.dependencyOffsets[id]; edge < current.dependencyOffsets[id + 1]; edge++) {
+            int dependency = current.dependencyIds[edge];
+            if (dependency >= 0 && pending[dependency] != null) {
+                waiting.add(pending[dependency]);
             }
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
+        }
+        CompletableFuture<Void> dependenciesReady = allReady(waiting);
+        if (beanInfo.scope != BeanScope.SINGLETON || beanInfo.lazy) {
+            joinReady(dependenciesReady);
+            postConstruct(plan, bean, finished);
+        } else if (plan.hasAsyncPostConstruct()) {
+            Executor executor = asyncExecutor != null ? asyncExecutor : AsyncExecutorHolder.EXECUTOR;
+            pending[id] = dependenciesReady
+                    .thenCompose(ignored -> plan.postConstructAsync(bean, executor))
+                    .thenAccept(time -> {
+                        if (finished != null) {
+                            finished.accept(time);
+                        }
+                    });
+        } else if (dependenciesReady.isDone() && !dependenciesReady.isCompletedExceptionally()) {
+            postConstruct(plan, bean, finished);
+        } else {
+            pending[id] = dependenciesReady.thenRun(() -> postConstruct(plan, bean, finished));
         }
     }
 
-    private void executePostConstruct(BeanInfo beanInfo, Object bean) {
-        if (beanInfo.postConstruct.isEmpty()) {
+    private static void postConstruct(CreationPlan plan, Object bean, LongConsumer finished) {
+        if (finished == null) {
+            plan.postConstruct(bean);
             return;
         }
-        Method postConstruct = beanInfo.postConstruct.get();
+        long started = System.nanoTime();
+        plan.postConstruct(bean);
+        finished.accept(System.nanoTime() - started);
+    }
+
+    /**
+     * @return future, завершающаяся после завершения всех {@code futures} или первой ошибкой среди них
+     */
+    private static CompletableFuture<Void> allReady(Collection<CompletableFuture<?>> futures) {
+        if (futures.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        for (CompletableFuture<?> future : futures) {
+            future.whenComplete((ignored, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                }
+            });
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenRun(() -> result.complete(null));
+        return result;
+    }
+
+    private static void joinReady(CompletableFuture<Void> future) {
         try {
-            postConstruct.setAccessible(true);
-            postConstruct.invoke(bean);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
+            future.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
         }
     }
 }
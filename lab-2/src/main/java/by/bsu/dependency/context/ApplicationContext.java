@@ -2,6 +2,8 @@ package by.bsu.dependency.context;
 
 import by.bsu.dependency.exceptions.*;
 
+import java.util.Map;
+
 public interface ApplicationContext {
 
     /**
@@ -51,6 +53,17 @@ public interface ApplicationContext {
      */
     <T> T getBean(Class<T> clazz);
 
+    /**
+     * Возвращает все бины, приводимые к типу {@code clazz} (по классу, суперклассу или интерфейсу). Для
+     * {@code PROTOTYPE} бинов каждый вызов создает новые объекты.
+     *
+     * @param clazz тип бинов
+     * @throws ApplicationContextNotStartedException если контекст еще не запущен
+     * @return неизменяемая карта из имени бина в его инстанс, пустая, если таких бинов нет
+     * @param <T> тип бинов
+     */
+    <T> Map<String, T> getBeansOfType(Class<T> clazz);
+
     /**
      * Проверяет, имеет ли бин скоуп {@code SINGLETON}
      *
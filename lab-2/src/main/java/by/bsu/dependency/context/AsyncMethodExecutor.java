@@ -0,0 +1,82 @@
+package by.bsu.dependency.context;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул {@code @Async} методов одного контекста: не больше {@code maxConcurrency} daemon потоков, которые создаются
+ * по требованию и завершаются после минуты простоя, и неограниченная очередь вызовов.
+ */
+final class AsyncMethodExecutor {
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger maxQueued = new AtomicInteger();
+
+    /**
+     * Вызов метода бина.
+     */
+    @FunctionalInterface
+    interface Call {
+        Object call() throws Throwable;
+    }
+
+    AsyncMethodExecutor(int maxConcurrency) {
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "async-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return future с результатом вызова; если вызов вернул {@link CompletionStage}, future завершается вместе с
+     * ней. После {@link #shutdown()} future сразу завершается {@link RejectedExecutionException}
+     */
+    CompletableFuture<Object> submit(Call call) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    Object value = call.call();
+                    if (value instanceof CompletionStage<?> stage) {
+                        stage.whenComplete((completed, failure) -> {
+                            if (failure != null) {
+                                result.completeExceptionally(failure);
+                            } else {
+                                result.complete(completed);
+                            }
+                        });
+                    } else {
+                        result.complete(value);
+                    }
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        maxQueued.accumulateAndGet(executor.getQueue().size(), Math::max);
+        return result;
+    }
+
+    AsyncStats stats() {
+        return new AsyncStats(executor.getMaximumPoolSize(), executor.getActiveCount(), executor.getQueue().size(),
+                maxQueued.get(), executor.getCompletedTaskCount());
+    }
+
+    /**
+     * Перестает принимать новые вызовы, уже принятые выполняются до конца.
+     */
+    void shutdown() {
+        executor.shutdown();
+    }
+}
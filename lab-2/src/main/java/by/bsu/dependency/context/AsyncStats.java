@@ -0,0 +1,13 @@
+package by.bsu.dependency.context;
+
+/**
+ * Статистика пула {@code @Async} методов контекста.
+ *
+ * @param maxConcurrency максимальное число одновременно выполняемых методов
+ * @param active         сколько методов выполняется сейчас
+ * @param queued         сколько вызовов ждет свободного потока сейчас
+ * @param maxQueued      наибольшее число ждущих вызовов за время работы контекста
+ * @param completed      сколько вызовов завершено
+ */
+public record AsyncStats(int maxConcurrency, int active, int queued, int maxQueued, long completed) {
+}
@@ -6,9 +6,14 @@ import org.reflections.Reflections;
 import org.reflections.scanners.MethodAnnotationsScanner;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
 
+import java.net.URL;
 import java.sql.Ref;
-import java.util.ArrayList;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 public class AutoScanApplicationContext extends AbstractApplicationContext {
@@ -18,13 +23,58 @@ public class AutoScanApplicationContext extends AbstractApplicationContext {
      * <br/>
      * Если имя бина в анноации не указано ({@code name} пустой), оно берется из названия класса.
      * <br/>
-     * Подразумевается, что у всех классов, переданных в списке, есть конструктор без аргументов.
+     * Подразумевается, что у всех классов, переданных в списке, есть конструктор без аргументов или конструктор,
+     * помеченный {@code @Inject}.
+     * <br/>
+     * Список классов берется из индекса, сгенерированного на этапе компиляции. Через Reflections сканируются
+     * только корни classpath с классами пакета, в которых индекса нет, и найденные классы добавляются к
+     * проиндексированным.
      *
      * @param packageName имя сканируемого пакета
      */
     public AutoScanApplicationContext(String packageName) {
-        Reflections reflections = new Reflections(packageName);
-        Set<Class<?>> set = reflections.getTypesAnnotatedWith(Bean.class);
-        init(new ArrayList<>(set));
+        ClassLoader classLoader = getClassLoader();
+        init(BeanIndex.loadClasses(findClassNames(packageName, classLoader), classLoader));
+    }
+
+    /**
+     * Создает контекст, содержащий классы из пакета {@code packageName}, используя снимок {@code snapshot}.
+     * <br/>
+     * Набор классов снимка сверяется с классами пакета из индекса и из корней classpath без индекса, поэтому
+     * добавленный в пакет бин не теряется. Снимок также отбрасывается, если изменился байткод какого-либо
+     * класса, и тогда контекст создается как обычно, а снимок перезаписывается.
+     *
+     * @param packageName имя сканируемого пакета
+     * @param snapshot    путь к файлу снимка
+     */
+    public AutoScanApplicationContext(String packageName, Path snapshot) {
+        ClassLoader classLoader = getClassLoader();
+        Collection<String> classNames = findClassNames(packageName, classLoader);
+        init(snapshot, classLoader, Set.copyOf(classNames), () -> BeanIndex.loadClasses(classNames, classLoader));
+    }
+
+    private static ClassLoader getClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : AutoScanApplicationContext.class.getClassLoader();
+    }
+
+    /**
+     * @return имена классов бинов пакета из индекса и из корней classpath без индекса
+     */
+    private static Collection<String> findClassNames(String packageName, ClassLoader classLoader) {
+        BeanIndex.Lookup lookup = BeanIndex.load(packageName, classLoader);
+        if (lookup.unindexedRoots().isEmpty()) {
+            return lookup.classNames();
+        }
+        Set<String> classNames = new LinkedHashSet<>(lookup.classNames());
+        classNames.addAll(scan(packageName, lookup.unindexedRoots()));
+        return classNames;
+    }
+
+    private static Set<String> scan(String packageName, List<URL> roots) {
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .setUrls(roots)
+                .filterInputsBy(new FilterBuilder().includePackage(packageName)));
+        return reflections.get(Scanners.SubTypes.of(Scanners.TypesAnnotated.with(Bean.class)));
     }
 }
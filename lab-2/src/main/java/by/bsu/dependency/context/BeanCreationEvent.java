@@ -0,0 +1,31 @@
+package by.bsu.dependency.context;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("by.bsu.dependency.BeanCreation")
+@Label("Bean Creation")
+@Category("Dependency Injection")
+final class BeanCreationEvent extends Event {
+
+    @Label("Bean Name")
+    String beanName;
+
+    @Label("Scope")
+    String scope;
+
+    @Label("Instantiate Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long instantiateTime;
+
+    @Label("Inject Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long injectTime;
+
+    @Label("Post Construct Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long postConstructTime;
+}
@@ -0,0 +1,47 @@
+package by.bsu.dependency.context;
+
+/**
+ * Ссылка на бин запущенного контекста, полученная через {@link AbstractApplicationContext#getHandle}. Хранит номер
+ * бина в таблице контекста, поэтому {@link #get()} не ищет бин по имени и не обращается к хеш-таблицам.
+ * <br/>
+ * Ссылка остается действительной после регистрации других бинов и перестает работать после удаления своего бина.
+ *
+ * @param <T> тип бина
+ */
+public final class BeanHandle<T> {
+    private final AbstractApplicationContext context;
+    private final int id;
+    private final String name;
+    private final Class<T> type;
+
+    BeanHandle(AbstractApplicationContext context, int id, String name, Class<T> type) {
+        this.context = context;
+        this.id = id;
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Возвращает инстанс бина так же, как {@code getBean}.
+     *
+     * @throws by.bsu.dependency.exceptions.NoSuchBeanDefinitionException если бин был удален из контекста
+     * @return инстанс бина
+     */
+    public T get() {
+        return type.cast(context.getBean(id, name, true));
+    }
+
+    /**
+     * @return имя бина
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Возвращает инстанс бина для внедрения в бин дочернего контекста, не учитывая его в метриках запросов.
+     */
+    Object resolve() {
+        return context.getBean(id, name, false);
+    }
+}
@@ -0,0 +1,102 @@
+package by.bsu.dependency.context;
+
+import org.reflections.util.ClasspathHelper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Индекс бинов, сгенерированный процессором аннотаций на этапе компиляции.
+ * <br/>
+ * Каждый jar (или каталог классов) может содержать свой ресурс {@value #INDEX_LOCATION} с бинарными именами
+ * классов бинов, по одному на строку, все они объединяются.
+ */
+final class BeanIndex {
+    static final String INDEX_LOCATION = "META-INF/by.bsu.dependency/bean.index";
+
+    private BeanIndex() {
+    }
+
+    /**
+     * Бины пакета, найденные по индексу.
+     *
+     * @param classNames     имена проиндексированных классов бинов
+     * @param unindexedRoots корни classpath без индекса, в которых тоже есть классы пакета; их нужно сканировать
+     */
+    record Lookup(List<String> classNames, List<URL> unindexedRoots) {
+    }
+
+    /**
+     * Загружает имена классов бинов из пакета {@code packageName} и его подпакетов.
+     * <br/>
+     * Индекс полон только для того корня classpath, в котором он лежит. Пакет может быть разбит по нескольким
+     * корням, и часть из них может быть собрана без процессора аннотаций, поэтому такие корни возвращаются
+     * отдельно.
+     */
+    static Lookup load(String packageName, ClassLoader classLoader) {
+        try {
+            Set<String> indexedRoots = new HashSet<>();
+            List<String> classNames = new ArrayList<>();
+            for (URL resource : Collections.list(classLoader.getResources(INDEX_LOCATION))) {
+                indexedRoots.add(root(resource, INDEX_LOCATION));
+                try (var reader = new BufferedReader(
+                        new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String className = line.strip();
+                        if (!className.isEmpty() && isInPackage(className, packageName)) {
+                            classNames.add(className);
+                        }
+                    }
+                }
+            }
+
+            List<URL> unindexedRoots = new ArrayList<>();
+            for (URL root : ClasspathHelper.forPackage(packageName, classLoader)) {
+                if (!indexedRoots.contains(root.toExternalForm())) {
+                    unindexedRoots.add(root);
+                }
+            }
+            return new Lookup(List.copyOf(classNames), List.copyOf(unindexedRoots));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Загружает классы бинов по именам, не инициализируя их.
+     */
+    static List<Class<?>> loadClasses(Collection<String> classNames, ClassLoader classLoader) {
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            try {
+                classes.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return classes;
+    }
+
+    /**
+     * @return корень classpath ресурса в том же виде, что и у {@link ClasspathHelper#forPackage}
+     */
+    private static String root(URL resource, String resourceName) {
+        String url = resource.toExternalForm();
+        return url.substring(0, url.lastIndexOf(resourceName));
+    }
+
+    private static boolean isInPackage(String className, String packageName) {
+        return packageName.isEmpty() || className.startsWith(packageName + ".");
+    }
+}
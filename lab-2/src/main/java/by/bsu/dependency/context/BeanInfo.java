@@ -4,32 +4,225 @@ import by.bsu.dependency.annotation.Bean;
 import by.bsu.dependency.annotation.BeanScope;
 import by.bsu.dependency.annotation.Inject;
 import by.bsu.dependency.annotation.PostConstruct;
+import by.bsu.dependency.annotation.Reset;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class BeanInfo {
+    private static final ClassValue<AtomicReference<BeanInfo>> CACHE = new ClassValue<>() {
+        @Override
+        protected AtomicReference<BeanInfo> computeValue(Class<?> type) {
+            return new AtomicReference<>();
+        }
+    };
+
     public final Class<?> beanClass;
+    public final String name;
     public final BeanScope scope;
+    public final String scopeName;
+    public final boolean lazy;
+    public final Optional<Constructor<?>> injectConstructor;
+    public final List<Class<?>> constructorDependencies;
     public final List<Field> dependencies;
     public final Optional<Method> postConstruct;
+    public final Optional<Method> reset;
+    public final int poolSize;
+    private final boolean[] providerDependencies;
+    private final List<Class<?>> dependencyTypes;
+    private volatile CreationPlan plan;
+
+    /**
+     * Возвращает описание бина, общее для всех контекстов JVM. Описание неизменяемо и разбирается из аннотаций
+     * один раз на класс, его план создания тоже компилируется один раз.
+     * <br/>
+     * Кеш построен на {@link ClassValue}: описание хранится в самом классе и выгружается вместе с ним.
+     *
+     * @param beanClass класс бина
+     * @return описание бина
+     */
+    static BeanInfo of(Class<?> beanClass) {
+        AtomicReference<BeanInfo> slot = CACHE.get(beanClass);
+        BeanInfo beanInfo = slot.get();
+        if (beanInfo == null) {
+            slot.compareAndSet(null, new BeanInfo(beanClass));
+            beanInfo = slot.get();
+        }
+        return beanInfo;
+    }
+
+    /**
+     * То же, что {@link #of(Class)}, но если класс еще не разобран, в кеш без чтения аннотаций кладется
+     * {@code restored}. Вызывающий код должен заранее убедиться, что {@code restored} соответствует текущему
+     * байткоду класса.
+     *
+     * @param restored описание, восстановленное из уже разобранных данных
+     * @return описание бина из кеша, которое может отличаться от {@code restored}
+     */
+    static BeanInfo of(Class<?> beanClass, BeanInfo restored) {
+        AtomicReference<BeanInfo> slot = CACHE.get(beanClass);
+        slot.compareAndSet(null, restored);
+        return slot.get();
+    }
+
+    /**
+     * @return {@code true}, если {@code other} описывает тот же бин так же, как это описание
+     */
+    boolean sameDefinition(BeanInfo other) {
+        return beanClass == other.beanClass
+                && name.equals(other.name)
+                && scope == other.scope
+                && scopeName.equals(other.scopeName)
+                && lazy == other.lazy
+                && poolSize == other.poolSize
+                && injectConstructor.equals(other.injectConstructor)
+                && dependencies.equals(other.dependencies)
+                && postConstruct.equals(other.postConstruct)
+                && reset.equals(other.reset);
+    }
 
     BeanInfo(Class<?> beanClass) {
         this.beanClass = beanClass;
+        this.name = getName(beanClass);
         this.scope = getScope(beanClass);
+        this.scopeName = beanClass.isAnnotationPresent(Bean.class) ? beanClass.getAnnotation(Bean.class).scopeName() : "";
+        if (scope == BeanScope.CUSTOM && scopeName.isEmpty()) {
+            throw new RuntimeException("Custom scoped bean must have scope name");
+        }
+        this.lazy = scope == BeanScope.SINGLETON && isLazy(beanClass);
+        var constructors = Arrays.stream(beanClass.getDeclaredConstructors())
+                .filter(constructor -> constructor.isAnnotationPresent(Inject.class))
+                .toList();
+        if (constructors.size() > 1) {
+            throw new RuntimeException("Bean has more then one Inject constructor");
+        }
+        this.injectConstructor = constructors.isEmpty() ? Optional.empty() : Optional.of(constructors.get(0));
+        this.constructorDependencies = injectConstructor.map(constructor -> List.of(constructor.getParameterTypes()))
+                .orElse(List.of());
         this.dependencies = Arrays.stream(beanClass.getDeclaredFields())
                 .filter(field -> field.isAnnotationPresent(Inject.class))
                 .toList();
+        this.providerDependencies = findProviderDependencies();
+        this.dependencyTypes = findDependencyTypes();
+
+        this.postConstruct = findAnnotatedMethod(beanClass, PostConstruct.class);
+        this.reset = findAnnotatedMethod(beanClass, Reset.class);
+        this.poolSize = beanClass.isAnnotationPresent(Bean.class) ? beanClass.getAnnotation(Bean.class).poolSize() : 0;
+        if (scope == BeanScope.POOLED && poolSize <= 0) {
+            throw new RuntimeException("Pooled bean must have positive pool size");
+        }
+    }
+
+    /**
+     * Восстанавливает описание бина из уже разобранных данных (например, из снимка контекста) без чтения
+     * аннотаций.
+     */
+    BeanInfo(Class<?> beanClass, String name, BeanScope scope, String scopeName, boolean lazy, int poolSize,
+             Optional<Constructor<?>> injectConstructor, List<Field> dependencies,
+             Optional<Method> postConstruct, Optional<Method> reset) {
+        this.beanClass = beanClass;
+        this.name = name;
+        this.scope = scope;
+        this.scopeName = scopeName;
+        this.lazy = lazy;
+        this.poolSize = poolSize;
+        this.injectConstructor = injectConstructor;
+        this.constructorDependencies = injectConstructor.map(constructor -> List.of(constructor.getParameterTypes()))
+                .orElse(List.of());
+        this.dependencies = List.copyOf(dependencies);
+        this.providerDependencies = findProviderDependencies();
+        this.dependencyTypes = findDependencyTypes();
+        this.postConstruct = postConstruct;
+        this.reset = reset;
+    }
 
-        var post = Arrays.stream(beanClass.getDeclaredMethods())
-                .filter(field -> field.isAnnotationPresent(PostConstruct.class))
+    private static Optional<Method> findAnnotatedMethod(Class<?> beanClass, Class<? extends Annotation> annotation) {
+        var methods = Arrays.stream(beanClass.getDeclaredMethods())
+                .filter(method -> method.isAnnotationPresent(annotation))
                 .toList();
 
-        if (post.size() > 1) throw new RuntimeException("Bean has more then one PostConstruct field");
-        this.postConstruct = post.isEmpty() ? Optional.empty() : Optional.of(post.get(0));
+        if (methods.size() > 1) {
+            throw new RuntimeException("Bean has more then one " + annotation.getSimpleName() + " method");
+        }
+        return methods.isEmpty() ? Optional.empty() : Optional.of(methods.get(0));
+    }
+
+    /**
+     * Возвращает типы всех зависимостей бина: сначала параметры {@code @Inject} конструктора, затем
+     * {@code @Inject} поля. Для зависимости типа {@code Provider<T>} возвращается тип {@code T}.
+     */
+    public List<Class<?>> getDependencyTypes() {
+        return dependencyTypes;
+    }
+
+    private List<Class<?>> findDependencyTypes() {
+        List<Type> genericTypes = getGenericDependencyTypes();
+        List<Class<?>> types = new ArrayList<>(genericTypes.size());
+        for (int i = 0; i < genericTypes.size(); i++) {
+            Type type = genericTypes.get(i);
+            if (providerDependencies[i]) {
+                type = ((ParameterizedType) type).getActualTypeArguments()[0];
+            }
+            types.add(type instanceof ParameterizedType parameterized
+                    ? (Class<?>) parameterized.getRawType()
+                    : (Class<?>) type);
+        }
+        return List.copyOf(types);
+    }
+
+    /**
+     * @param index индекс зависимости в {@link #getDependencyTypes()}
+     * @return {@code true}, если вместо бина внедряется {@link Provider}
+     */
+    boolean isProviderDependency(int index) {
+        return providerDependencies[index];
+    }
+
+    private List<Type> getGenericDependencyTypes() {
+        List<Type> types = new ArrayList<>();
+        injectConstructor.ifPresent(constructor -> types.addAll(List.of(constructor.getGenericParameterTypes())));
+        dependencies.forEach(field -> types.add(field.getGenericType()));
+        return types;
+    }
+
+    private boolean[] findProviderDependencies() {
+        List<Type> types = getGenericDependencyTypes();
+        boolean[] result = new boolean[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            Type type = types.get(i);
+            if (type == Provider.class) {
+                throw new RuntimeException("Provider dependency of bean " + name + " must have a type argument");
+            }
+            if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == Provider.class) {
+                Type target = parameterized.getActualTypeArguments()[0];
+                if (!(target instanceof Class<?>) && !(target instanceof ParameterizedType)) {
+                    throw new RuntimeException("Provider dependency of bean " + name + " must have a class type argument");
+                }
+                result[i] = true;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает план создания бина, компилируя его при первом обращении.
+     */
+    CreationPlan getPlan() {
+        CreationPlan result = plan;
+        if (result == null) {
+            result = new CreationPlan(this);
+            plan = result;
+        }
+        return result;
     }
 
     public static String getName(Class<?> clazz) {
@@ -44,4 +237,8 @@ public class BeanInfo {
     public static BeanScope getScope(Class<?> clazz) {
         return clazz.isAnnotationPresent(Bean.class) ? clazz.getAnnotation(Bean.class).scope() : BeanScope.SINGLETON;
     }
+
+    public static boolean isLazy(Class<?> clazz) {
+        return clazz.isAnnotationPresent(Bean.class) && clazz.getAnnotation(Bean.class).lazy();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package by.bsu.dependency.context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики одного бина: сколько раз он создавался и запрашивался через {@code getBean} и сколько времени заняли
+ * создание инстанса, внедрение зависимостей (включая создание внедряемых прототипов) и {@code @PostConstruct}.
+ * Времена суммируются по всем созданиям бина. Для отложенного до готовности зависимостей или асинхронного
+ * {@code @PostConstruct} учитывается время выполнения самого метода, без ожидания зависимостей.
+ */
+public final class BeanMetrics {
+    private final String name;
+    private final boolean lazy;
+    private final LongAdder creations = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder instantiateNanos = new LongAdder();
+    private final LongAdder injectNanos = new LongAdder();
+    private final LongAdder postConstructNanos = new LongAdder();
+
+    BeanMetrics(String name, boolean lazy) {
+        this.name = name;
+        this.lazy = lazy;
+    }
+
+    void recordCreation(long instantiate, long inject, long postConstruct) {
+        creations.increment();
+        instantiateNanos.add(instantiate);
+        injectNanos.add(inject);
+        postConstructNanos.add(postConstruct);
+    }
+
+    void recordRequest() {
+        requests.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public long getCreations() {
+        return creations.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public Duration getInstantiateTime() {
+        return Duration.ofNanos(instantiateNanos.sum());
+    }
+
+    public Duration getInjectTime() {
+        return Duration.ofNanos(injectNanos.sum());
+    }
+
+    public Duration getPostConstructTime() {
+        return Duration.ofNanos(postConstructNanos.sum());
+    }
+
+    public Duration getCreationTime() {
+        return Duration.ofNanos(instantiateNanos.sum() + injectNanos.sum() + postConstructNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return name + "{creations=" + getCreations() + ", requests=" + getRequests()
+                + ", instantiate=" + getInstantiateTime() + ", inject=" + getInjectTime()
+                + ", postConstruct=" + getPostConstructTime() + "}";
+    }
+}
@@ -0,0 +1,83 @@
+package by.bsu.dependency.context;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Ограниченный пул свободных инстансов бина со скоупом {@code POOLED}.
+ * <br/>
+ * Инстансы лежат в массиве слотов без блокировок. Каждый поток начинает обход со своего слота, который зависит
+ * от id потока, поэтому при конкурентном доступе потоки редко претендуют на одни и те же слоты.
+ * <br/>
+ * Пул сам является скоупом бина: {@code get} берет свободный инстанс или создает новый.
+ */
+final class BeanPool implements Scope {
+    private final AtomicReferenceArray<Object> slots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    BeanPool(int maxSize) {
+        this.slots = new AtomicReferenceArray<>(maxSize);
+    }
+
+    @Override
+    public Object get(int slot, Supplier<Object> factory) {
+        Object bean = poll();
+        return bean != null ? bean : factory.get();
+    }
+
+    /**
+     * @return свободный инстанс или {@code null}, если пул пуст
+     */
+    Object poll() {
+        int length = slots.length();
+        int index = stripe(length);
+        for (int i = 0; i < length; i++) {
+            if (slots.get(index) != null) {
+                Object bean = slots.getAndSet(index, null);
+                if (bean != null) {
+                    hits.increment();
+                    return bean;
+                }
+            }
+            if (++index == length) {
+                index = 0;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return {@code true}, если инстанс помещен в пул, {@code false}, если пул заполнен
+     */
+    boolean offer(Object bean) {
+        int length = slots.length();
+        int index = stripe(length);
+        for (int i = 0; i < length; i++) {
+            if (slots.get(index) == null && slots.compareAndSet(index, null, bean)) {
+                return true;
+            }
+            if (++index == length) {
+                index = 0;
+            }
+        }
+        return false;
+    }
+
+    PoolStats stats() {
+        int idle = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                idle++;
+            }
+        }
+        return new PoolStats(hits.sum(), misses.sum(), idle, slots.length());
+    }
+
+    private static int stripe(int length) {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9E3779B97F4A7C15L >>> 33) % length);
+    }
+}
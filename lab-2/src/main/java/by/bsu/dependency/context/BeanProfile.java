@@ -0,0 +1,27 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.annotation.BeanScope;
+
+import java.time.Duration;
+
+/**
+ * Место бина в профиле старта контекста.
+ *
+ * @param name          имя бина
+ * @param scope         скоуп бина
+ * @param lazy          {@code true}, если бин ленивый
+ * @param instantiate   время создания инстанса при старте
+ * @param inject        время внедрения зависимостей при старте, включая создание внедряемых прототипов и ленивых бинов
+ * @param postConstruct время выполнения {@code @PostConstruct} при старте, в том числе асинхронного
+ * @param cost          вклад бина в длину пути: время создания для неленивого {@code SINGLETON}, иначе 0, так как
+ *                      остальные бины создаются внутри внедрения в зависимые от них бины
+ * @param start         самое раннее время начала создания бина, если все зависимости созданы как можно раньше
+ * @param finish        самое раннее время готовности бина после {@code @PostConstruct}; может быть больше
+ *                      {@code start + cost}, если метод ждал асинхронного метода зависимости
+ * @param slack         на сколько можно задержать создание бина, не удлиняя критический путь
+ * @param critical      {@code true}, если бин лежит на критическом пути
+ */
+public record BeanProfile(String name, BeanScope scope, boolean lazy, Duration instantiate, Duration inject,
+                          Duration postConstruct, Duration cost, Duration start, Duration finish, Duration slack,
+                          boolean critical) {
+}
@@ -0,0 +1,12 @@
+package by.bsu.dependency.context;
+
+/**
+ * Статистика кеша {@code @Cacheable} метода.
+ *
+ * @param hits      сколько раз результат был взят из кеша
+ * @param misses    сколько раз результата не было в кеше и метод вызывался
+ * @param evictions сколько результатов вытеснено при переполнении или по истечении времени жизни
+ * @param size      сколько результатов лежит в кеше сейчас
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+}
@@ -0,0 +1,78 @@
+package by.bsu.dependency.context;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Метрики контекста, собираемые при включенной инструментации
+ * ({@link AbstractApplicationContext#enableMetrics()}).
+ */
+public final class ContextMetrics {
+    private volatile Map<String, BeanMetrics> beans;
+    private volatile long startNanos;
+    private volatile StartupProfile startupProfile;
+
+    ContextMetrics(Map<String, BeanInfo> definitions) {
+        Map<String, BeanMetrics> beans = new HashMap<>();
+        definitions.forEach((name, beanInfo) -> beans.put(name, new BeanMetrics(name, beanInfo.lazy)));
+        this.beans = Map.copyOf(beans);
+    }
+
+    /**
+     * Добавляет метрики бина, зарегистрированного в запущенном контексте.
+     */
+    synchronized void register(BeanInfo beanInfo) {
+        Map<String, BeanMetrics> updated = new HashMap<>(beans);
+        updated.put(beanInfo.name, new BeanMetrics(beanInfo.name, beanInfo.lazy));
+        beans = Map.copyOf(updated);
+    }
+
+    BeanMetrics get(String name) {
+        return beans.get(name);
+    }
+
+    void recordStart(long nanos) {
+        startNanos = nanos;
+    }
+
+    void recordStartupProfile(StartupProfile profile) {
+        startupProfile = profile;
+    }
+
+    /**
+     * @return метрики всех бинов контекста по имени
+     */
+    public Map<String, BeanMetrics> getBeanMetrics() {
+        return beans;
+    }
+
+    public Optional<BeanMetrics> getBeanMetrics(String name) {
+        return Optional.ofNullable(beans.get(name));
+    }
+
+    /**
+     * @return время выполнения {@code start()}
+     */
+    public Duration getStartTime() {
+        return Duration.ofNanos(startNanos);
+    }
+
+    /**
+     * @return профиль старта, построенный по временам создания бинов при старте
+     */
+    public StartupProfile getStartupProfile() {
+        return startupProfile;
+    }
+
+    /**
+     * @return суммарное время создания ленивых бинов, то есть работа, вынесенная из {@code start()}
+     */
+    public Duration getDeferredCreationTime() {
+        return beans.values().stream()
+                .filter(BeanMetrics::isLazy)
+                .map(BeanMetrics::getCreationTime)
+                .reduce(Duration.ZERO, Duration::plus);
+    }
+}
@@ -0,0 +1,277 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.annotation.BeanScope;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.CRC32C;
+
+/**
+ * Снимок разобранной модели контекста: описания бинов, разрешенные зависимости, порядок создания и индекс по типам.
+ * <br/>
+ * Снимок хранится в компактном бинарном файле. При загрузке для каждого класса бина заново считается
+ * контрольная сумма байткода самого класса и его суперклассов и интерфейсов, и если хотя бы один из них изменился,
+ * пропал или набор классов не совпадает с ожидаемым, снимок считается устаревшим.
+ * <br/>
+ * Описания бинов берутся из общего кеша {@link BeanInfo#of(Class)}. Восстановленное из снимка описание попадает в
+ * кеш, только если класс еще не разобран и весь снимок уже проверен. Так контексты из снимка и без него используют
+ * одни и те же описания и планы создания.
+ */
+final class ContextSnapshot {
+    private static final int MAGIC = 0x42534444;
+    private static final int VERSION = 2;
+
+    final Map<String, BeanInfo> definitions;
+    final Map<String, List<String>> dependencies;
+    final DependencyGraph.Order order;
+    final TypeIndex types;
+
+    ContextSnapshot(Map<String, BeanInfo> definitions, Map<String, List<String>> dependencies,
+                    DependencyGraph.Order order, TypeIndex types) {
+        this.definitions = definitions;
+        this.dependencies = dependencies;
+        this.order = order;
+        this.types = types;
+    }
+
+    /**
+     * Читает снимок из {@code file}.
+     *
+     * @param expectedClassNames имена классов, из которых должен состоять контекст
+     * @return снимок или {@code Optional.empty()}, если файла нет, он поврежден или устарел
+     */
+    static Optional<ContextSnapshot> read(Path file, Set<String> expectedClassNames, ClassLoader classLoader) {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return Optional.empty();
+            }
+
+            int beanCount = input.readInt();
+            List<BeanInfo> restored = new ArrayList<>(beanCount);
+            Map<String, List<String>> dependencies = new HashMap<>();
+            Set<String> classNames = new HashSet<>();
+            for (int i = 0; i < beanCount; i++) {
+                String className = input.readUTF();
+                long hash = input.readLong();
+                Class<?> beanClass = Class.forName(className, false, classLoader);
+                Long actualHash = bytecodeHash(beanClass);
+                if (actualHash == null || actualHash != hash) {
+                    return Optional.empty();
+                }
+                classNames.add(className);
+
+                BeanInfo beanInfo = readBeanInfo(input, beanClass);
+                restored.add(beanInfo);
+                dependencies.put(beanInfo.name, readStrings(input));
+            }
+            if (!expectedClassNames.equals(classNames)) {
+                return Optional.empty();
+            }
+
+            List<String> orderNames = readStrings(input);
+            int[] levels = new int[orderNames.size()];
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = input.readInt();
+            }
+
+            int typeCount = input.readInt();
+            Map<Class<?>, List<String>> candidates = new HashMap<>();
+            for (int i = 0; i < typeCount; i++) {
+                Class<?> type = Class.forName(input.readUTF(), false, classLoader);
+                candidates.put(type, readStrings(input));
+            }
+
+            // в общий кеш описания попадают, только когда весь снимок прочитан и проверен
+            Map<String, BeanInfo> definitions = new LinkedHashMap<>();
+            for (BeanInfo beanInfo : restored) {
+                BeanInfo cached = BeanInfo.of(beanInfo.beanClass, beanInfo);
+                if (!cached.sameDefinition(beanInfo)) {
+                    return Optional.empty();
+                }
+                definitions.put(cached.name, cached);
+            }
+
+            return Optional.of(new ContextSnapshot(
+                    definitions,
+                    dependencies,
+                    new DependencyGraph.Order(orderNames, levels),
+                    TypeIndex.of(candidates, definitions, name -> null)
+            ));
+        } catch (IOException | ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Записывает снимок в {@code file} через временный файл, чтобы параллельно стартующий контекст не прочитал
+     * недописанный снимок. Если байткод какого-то класса недоступен (например, класс сгенерирован в рантайме) или
+     * файл не удалось записать, снимок не записывается: он только ускоряет старт, и контекст работает без него.
+     */
+    void write(Path file) {
+        Path temporary = null;
+        try {
+            Map<String, Long> hashes = new HashMap<>();
+            for (BeanInfo beanInfo : definitions.values()) {
+                Long hash = bytecodeHash(beanInfo.beanClass);
+                if (hash == null) {
+                    return;
+                }
+                hashes.put(beanInfo.name, hash);
+            }
+
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+
+                output.writeInt(definitions.size());
+                for (BeanInfo beanInfo : definitions.values()) {
+                    output.writeUTF(beanInfo.beanClass.getName());
+                    output.writeLong(hashes.get(beanInfo.name));
+                    writeBeanInfo(output, beanInfo);
+                    writeStrings(output, dependencies.get(beanInfo.name));
+                }
+
+                writeStrings(output, order.names());
+                for (int level : order.levels()) {
+                    output.writeInt(level);
+                }
+
+                Map<Class<?>, List<String>> candidates = types.candidates();
+                output.writeInt(candidates.size());
+                for (Map.Entry<Class<?>, List<String>> entry : candidates.entrySet()) {
+                    output.writeUTF(entry.getKey().getName());
+                    writeStrings(output, entry.getValue());
+                }
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // следующий старт перезапишет снимок, а временный файл ни на что не влияет
+        }
+    }
+
+    private static void writeBeanInfo(DataOutputStream output, BeanInfo beanInfo) throws IOException {
+        output.writeUTF(beanInfo.name);
+        output.writeUTF(beanInfo.scope.name());
+        output.writeUTF(beanInfo.scopeName);
+        output.writeBoolean(beanInfo.lazy);
+        output.writeInt(beanInfo.poolSize);
+
+        output.writeBoolean(beanInfo.injectConstructor.isPresent());
+        if (beanInfo.injectConstructor.isPresent()) {
+            List<String> parameterTypes = new ArrayList<>();
+            for (Class<?> type : beanInfo.injectConstructor.get().getParameterTypes()) {
+                parameterTypes.add(type.getName());
+            }
+            writeStrings(output, parameterTypes);
+        }
+
+        writeStrings(output, beanInfo.dependencies.stream().map(Field::getName).toList());
+        output.writeUTF(beanInfo.postConstruct.map(Method::getName).orElse(""));
+        output.writeUTF(beanInfo.reset.map(Method::getName).orElse(""));
+    }
+
+    private static BeanInfo readBeanInfo(DataInputStream input, Class<?> beanClass)
+            throws IOException, ReflectiveOperationException {
+        String name = input.readUTF();
+        BeanScope scope = BeanScope.valueOf(input.readUTF());
+        String scopeName = input.readUTF();
+        boolean lazy = input.readBoolean();
+        int poolSize = input.readInt();
+
+        Optional<Constructor<?>> injectConstructor = Optional.empty();
+        if (input.readBoolean()) {
+            List<String> typeNames = readStrings(input);
+            Class<?>[] parameterTypes = new Class<?>[typeNames.size()];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                parameterTypes[i] = Class.forName(typeNames.get(i), false, beanClass.getClassLoader());
+            }
+            injectConstructor = Optional.of(beanClass.getDeclaredConstructor(parameterTypes));
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (String fieldName : readStrings(input)) {
+            fields.add(beanClass.getDeclaredField(fieldName));
+        }
+
+        String postConstruct = input.readUTF();
+        String reset = input.readUTF();
+        return new BeanInfo(beanClass, name, scope, scopeName, lazy, poolSize, injectConstructor, fields,
+                postConstruct.isEmpty() ? Optional.empty() : Optional.of(beanClass.getDeclaredMethod(postConstruct)),
+                reset.isEmpty() ? Optional.empty() : Optional.of(beanClass.getDeclaredMethod(reset)));
+    }
+
+    private static void writeStrings(DataOutputStream output, List<String> values) throws IOException {
+        output.writeInt(values.size());
+        for (String value : values) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(input.readUTF());
+        }
+        return List.copyOf(values);
+    }
+
+    /**
+     * @return контрольная сумма байткода класса бина и всех его суперклассов и интерфейсов, по которым строится
+     * индекс по типам, или {@code null}, если файл какого-то из них недоступен. Типы из JDK не учитываются.
+     */
+    static Long bytecodeHash(Class<?> beanClass) throws IOException {
+        if (beanClass.getClassLoader() == null) {
+            return null;
+        }
+        CRC32C crc = new CRC32C();
+        for (Class<?> type : TypeIndex.assignableTypes(beanClass)) {
+            ClassLoader classLoader = type.getClassLoader();
+            if (classLoader == null) {
+                continue;
+            }
+            try (InputStream stream = classLoader.getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+                if (stream == null) {
+                    return null;
+                }
+                crc.update(stream.readAllBytes());
+            }
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,21 @@
+package by.bsu.dependency.context;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("by.bsu.dependency.ContextStart")
+@Label("Context Start")
+@Category("Dependency Injection")
+final class ContextStartEvent extends Event {
+
+    @Label("Context Class")
+    Class<?> contextClass;
+
+    @Label("Bean Count")
+    int beanCount;
+
+    @Label("Singleton Count")
+    int singletonCount;
+}
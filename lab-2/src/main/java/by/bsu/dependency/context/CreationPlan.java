@@ -0,0 +1,249 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.annotation.BeanScope;
+import by.bsu.dependency.annotation.PostConstruct;
+import by.bsu.dependency.annotation.Scheduled;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Заранее скомпилированный план создания бина: конструктор, сеттеры {@code @Inject} полей и методы
+ * {@code @PostConstruct}, {@code @Reset} и {@code @Scheduled} в виде {@link MethodHandle}, а также прокси с
+ * перехватчиками, если они привязаны к бину.
+ * <br/>
+ * Строится один раз на {@link BeanInfo} и переиспользуется при каждом создании {@code PROTOTYPE} бина. Не зависит
+ * от контекста: какие именно бины внедрять, решает контекст по индексу зависимости. Индексы
+ * {@code 0..constructorArguments - 1} - аргументы {@code @Inject} конструктора, следующие - {@code @Inject} поля.
+ */
+final class CreationPlan {
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CALLBACK_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType HOOK_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final MethodHandle constructor;
+    private final int constructorArguments;
+    private final MethodHandle[] setters;
+    private final MethodHandle postConstruct;
+    private final boolean asyncPostConstruct;
+    private final MethodHandle reset;
+    private final InterceptionPlan interception;
+    private final MethodHandle[] scheduled;
+    private final Scheduled[] schedules;
+
+    CreationPlan(BeanInfo beanInfo) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanInfo.beanClass, MethodHandles.lookup());
+
+            Constructor<?> beanConstructor = beanInfo.injectConstructor.isPresent()
+                    ? beanInfo.injectConstructor.get()
+                    : beanInfo.beanClass.getConstructor();
+            this.constructorArguments = beanConstructor.getParameterCount();
+            this.constructor = lookup.unreflectConstructor(beanConstructor)
+                    .asSpreader(Object[].class, constructorArguments)
+                    .asType(CONSTRUCTOR_TYPE);
+
+            List<Field> dependencies = beanInfo.dependencies;
+            this.setters = new MethodHandle[dependencies.size()];
+            for (int i = 0; i < dependencies.size(); i++) {
+                Field field = dependencies.get(i);
+                setters[i] = lookup.unreflectSetter(field).asType(SETTER_TYPE);
+            }
+
+            this.postConstruct = beanInfo.postConstruct.isPresent()
+                    ? lookup.unreflect(beanInfo.postConstruct.get()).asType(HOOK_TYPE)
+                    : null;
+            this.asyncPostConstruct = beanInfo.postConstruct
+                    .map(method -> method.getAnnotation(PostConstruct.class).async())
+                    .orElse(false);
+            this.reset = unreflectCallback(lookup, beanInfo.reset);
+            this.interception = InterceptionPlan.of(beanInfo.beanClass);
+            if (interception != null && beanInfo.scope == BeanScope.POOLED) {
+                throw new RuntimeException("Pooled bean can't have interceptors");
+            }
+
+            List<Method> scheduledMethods = Arrays.stream(beanInfo.beanClass.getDeclaredMethods())
+                    .filter(method -> method.isAnnotationPresent(Scheduled.class))
+                    .toList();
+            if (!scheduledMethods.isEmpty() && (beanInfo.scope != BeanScope.SINGLETON || beanInfo.lazy)) {
+                throw new RuntimeException("Only non-lazy singleton bean can have scheduled methods");
+            }
+            this.scheduled = new MethodHandle[scheduledMethods.size()];
+            this.schedules = new Scheduled[scheduledMethods.size()];
+            for (int i = 0; i < scheduled.length; i++) {
+                Method method = scheduledMethods.get(i);
+                Scheduled schedule = method.getAnnotation(Scheduled.class);
+                if ((schedule.fixedRate() > 0) == (schedule.fixedDelay() > 0) || schedule.initialDelay() < 0) {
+                    throw new RuntimeException("Scheduled method must have either positive fixed rate or positive "
+                            + "fixed delay: " + method);
+                }
+                if (method.getParameterCount() > 0 || Modifier.isStatic(method.getModifiers())) {
+                    throw new RuntimeException("Scheduled method must be an instance method without parameters: "
+                            + method);
+                }
+                scheduled[i] = lookup.unreflect(method).asType(HOOK_TYPE);
+                schedules[i] = schedule;
+            }
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Создает инстанс бина одним вызовом конструктора, аргументы берутся из {@code resolver}.
+     */
+    Object instantiate(IntFunction<Object> resolver) {
+        Object[] arguments = NO_ARGUMENTS;
+        if (constructorArguments > 0) {
+            arguments = new Object[constructorArguments];
+            for (int i = 0; i < constructorArguments; i++) {
+                arguments[i] = resolver.apply(i);
+            }
+        }
+        try {
+            return (Object) constructor.invokeExact(arguments);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Внедряет зависимости в {@code bean}. Значение для {@code i}-го {@code @Inject} поля из
+     * {@link BeanInfo#dependencies} берется из {@code resolver} по индексу {@code constructorArguments + i}.
+     */
+    void inject(Object bean, IntFunction<Object> resolver) {
+        try {
+            for (int i = 0; i < setters.length; i++) {
+                setters[i].invokeExact(bean, resolver.apply(constructorArguments + i));
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Синхронно вызывает метод {@code @PostConstruct}. Если метод вернул {@link CompletionStage}, дожидается ее.
+     */
+    void postConstruct(Object bean) {
+        Object result = invokeHook(bean);
+        if (result instanceof CompletionStage<?> stage) {
+            try {
+                stage.toCompletableFuture().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : new RuntimeException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Вызывает метод {@code @PostConstruct} в {@code executor}.
+     *
+     * @return future, завершающаяся вместе с методом или с возвращенной им {@link CompletionStage}; ее значение -
+     * время в наносекундах от начала выполнения метода в {@code executor} до его завершения
+     */
+    CompletableFuture<Long> postConstructAsync(Object bean, Executor executor) {
+        long[] started = new long[1];
+        return CompletableFuture.supplyAsync(() -> {
+                    started[0] = System.nanoTime();
+                    return invokeHook(bean);
+                }, executor)
+                .thenCompose(result -> result instanceof CompletionStage<?> stage
+                        ? stage.thenApply(ignored -> System.nanoTime() - started[0])
+                        : CompletableFuture.completedFuture(System.nanoTime() - started[0]));
+    }
+
+    /**
+     * @return {@code true}, если метод {@code @PostConstruct} объявлен асинхронным
+     */
+    boolean hasAsyncPostConstruct() {
+        return asyncPostConstruct;
+    }
+
+    /**
+     * @param executor пул {@code @Async} методов контекста
+     * @return прокси с перехватчиками для созданного и проинициализированного {@code bean} или сам {@code bean},
+     * если перехватчиков нет
+     */
+    Object intercept(Object bean, AsyncMethodExecutor executor) {
+        return interception == null ? bean : interception.wrap(bean, executor);
+    }
+
+    boolean isIntercepted() {
+        return interception != null;
+    }
+
+    /**
+     * @return незапущенные периодические вызовы {@code @Scheduled} методов {@code bean} или пустой список, если их нет
+     */
+    List<ScheduledJob> scheduledJobs(Object bean, AsyncMethodExecutor executor, TimingWheel wheel) {
+        if (scheduled.length == 0) {
+            return List.of();
+        }
+        List<ScheduledJob> jobs = new ArrayList<>(scheduled.length);
+        for (int i = 0; i < scheduled.length; i++) {
+            MethodHandle method = scheduled[i];
+            Scheduled schedule = schedules[i];
+            boolean fixedRate = schedule.fixedRate() > 0;
+            jobs.add(new ScheduledJob(() -> (Object) method.invokeExact(bean),
+                    TimeUnit.MILLISECONDS.toNanos(fixedRate ? schedule.fixedRate() : schedule.fixedDelay()), fixedRate,
+                    TimeUnit.MILLISECONDS.toNanos(schedule.initialDelay()), executor, wheel));
+        }
+        return jobs;
+    }
+
+    /**
+     * Вызывает метод {@code @Reset} перед возвратом бина в пул.
+     */
+    void reset(Object bean) {
+        invokeCallback(reset, bean);
+    }
+
+    private static MethodHandle unreflectCallback(MethodHandles.Lookup lookup, Optional<Method> method)
+            throws IllegalAccessException {
+        if (method.isEmpty()) {
+            return null;
+        }
+        return lookup.unreflect(method.get()).asType(CALLBACK_TYPE);
+    }
+
+    private Object invokeHook(Object bean) {
+        if (postConstruct == null) {
+            return null;
+        }
+        try {
+            return (Object) postConstruct.invokeExact(bean);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void invokeCallback(MethodHandle callback, Object bean) {
+        if (callback == null) {
+            return;
+        }
+        try {
+            callback.invokeExact(bean);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
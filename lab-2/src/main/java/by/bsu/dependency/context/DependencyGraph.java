@@ -0,0 +1,167 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.exceptions.DependencyLoopException;
+import by.bsu.dependency.exceptions.NoSuchBeanDefinitionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Граф зависимостей бинов: ребро ведет от бина к бину, который в него внедряется.
+ * <br/>
+ * Бины нумеруются в порядке сортировки имен, ребра хранятся в плоских массивах (CSR): зависимости бина {@code i}
+ * лежат в {@code targets[offsets[i]..offsets[i + 1])}. Все алгоритмы итеративные и работают за линейное время.
+ */
+final class DependencyGraph {
+
+    /**
+     * Порядок создания бинов: каждый бин идет после всех своих зависимостей.
+     *
+     * @param names  имена бинов в порядке создания
+     * @param levels уровень каждого бина из {@code names}: на единицу больше максимального уровня его зависимостей
+     */
+    record Order(List<String> names, int[] levels) {
+    }
+
+    private final String[] names;
+    private final int[] offsets;
+    private final int[] targets;
+
+    private DependencyGraph(String[] names, int[] offsets, int[] targets) {
+        this.names = names;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * @param dependencies имена зависимостей каждого бина
+     * @throws NoSuchBeanDefinitionException если зависимость не объявлена как бин
+     */
+    static DependencyGraph build(Map<String, List<String>> dependencies) {
+        String[] names = dependencies.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+
+        Map<String, Integer> ids = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+
+        int[] offsets = new int[names.length + 1];
+        for (int i = 0; i < names.length; i++) {
+            offsets[i + 1] = offsets[i] + dependencies.get(names[i]).size();
+        }
+
+        int[] targets = new int[offsets[names.length]];
+        for (int i = 0; i < names.length; i++) {
+            int edge = offsets[i];
+            for (String dependency : dependencies.get(names[i])) {
+                Integer id = ids.get(dependency);
+                if (id == null) {
+                    throw new NoSuchBeanDefinitionException(dependency);
+                }
+                targets[edge++] = id;
+            }
+        }
+        return new DependencyGraph(names, offsets, targets);
+    }
+
+    /**
+     * Топологическая сортировка алгоритмом Кана по всем бинам графа.
+     *
+     * @throws DependencyLoopException с полным путем цикла, если граф содержит цикл
+     */
+    Order sort() {
+        int size = names.length;
+
+        int[] remaining = new int[size];
+        int[] dependentCounts = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            remaining[i] = offsets[i + 1] - offsets[i];
+            for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+                dependentCounts[targets[edge] + 1]++;
+            }
+        }
+
+        // обратные ребра (от зависимости к зависящим от нее бинам) в том же CSR формате
+        int[] dependentOffsets = dependentCounts;
+        for (int i = 0; i < size; i++) {
+            dependentOffsets[i + 1] += dependentOffsets[i];
+        }
+        int[] dependents = new int[targets.length];
+        int[] cursor = Arrays.copyOf(dependentOffsets, size);
+        for (int i = 0; i < size; i++) {
+            for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+                dependents[cursor[targets[edge]]++] = i;
+            }
+        }
+
+        int[] queue = new int[size];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < size; i++) {
+            if (remaining[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+
+        int[] levelById = new int[size];
+        while (head < tail) {
+            int bean = queue[head++];
+            for (int edge = dependentOffsets[bean]; edge < dependentOffsets[bean + 1]; edge++) {
+                int dependent = dependents[edge];
+                levelById[dependent] = Math.max(levelById[dependent], levelById[bean] + 1);
+                if (--remaining[dependent] == 0) {
+                    queue[tail++] = dependent;
+                }
+            }
+        }
+
+        if (tail < size) {
+            throw new DependencyLoopException(findCycle(remaining));
+        }
+
+        List<String> order = new ArrayList<>(size);
+        int[] levels = new int[size];
+        for (int i = 0; i < size; i++) {
+            order.add(names[queue[i]]);
+            levels[i] = levelById[queue[i]];
+        }
+        return new Order(order, levels);
+    }
+
+    /**
+     * У каждого бина, не попавшего в сортировку, есть хотя бы одна такая же зависимость, поэтому, переходя по ним,
+     * мы обязательно вернемся в уже пройденный бин.
+     */
+    private List<String> findCycle(int[] remaining) {
+        int start = 0;
+        while (remaining[start] == 0) {
+            start++;
+        }
+
+        int[] position = new int[names.length];
+        Arrays.fill(position, -1);
+        List<Integer> path = new ArrayList<>();
+        int bean = start;
+        while (position[bean] < 0) {
+            position[bean] = path.size();
+            path.add(bean);
+            for (int edge = offsets[bean]; edge < offsets[bean + 1]; edge++) {
+                if (remaining[targets[edge]] > 0) {
+                    bean = targets[edge];
+                    break;
+                }
+            }
+        }
+
+        List<String> cycle = new ArrayList<>();
+        for (int i = position[bean]; i < path.size(); i++) {
+            cycle.add(names[path.get(i)]);
+        }
+        cycle.add(names[bean]);
+        return cycle;
+    }
+}
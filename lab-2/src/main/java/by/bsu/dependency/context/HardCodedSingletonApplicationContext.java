@@ -2,6 +2,7 @@ package by.bsu.dependency.context;
 
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
@@ -73,6 +74,20 @@ public class HardCodedSingletonApplicationContext extends AbstractApplicationCon
         return clazz.cast(getBean(clazz.getAnnotation(Bean.class).name()));
     }
 
+    @Override
+    public <T> Map<String, T> getBeansOfType(Class<T> clazz) {
+        if (!isRunning()) {
+            throw new ApplicationContextNotStartedException();
+        }
+        Map<String, T> result = new HashMap<>();
+        beans.forEach((name, bean) -> {
+            if (clazz.isInstance(bean)) {
+                result.put(name, clazz.cast(bean));
+            }
+        });
+        return Collections.unmodifiableMap(result);
+    }
+
     @Override
     public boolean isPrototype(String name) {
         if (!beanDefinitions.containsKey(name)) {
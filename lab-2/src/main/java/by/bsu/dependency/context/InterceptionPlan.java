@@ -0,0 +1,302 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.annotation.Async;
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Cacheable;
+import by.bsu.dependency.annotation.Interceptors;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Прокси бина с перехватчиками: класс прокси его интерфейсов и заранее собранные цепочки перехватчиков для каждого
+ * метода, а также настройки кешей {@link Cacheable} и {@link Async} методов. Кеши создаются для каждого инстанса
+ * бина, {@code @Async} методы выполняются в пуле контекста, создавшего бин. Строится один раз на класс бина вместе
+ * с {@link CreationPlan}; для бина без перехватчиков не строится, и такой бин возвращается без обертки.
+ */
+final class InterceptionPlan {
+    private static final MethodType TARGET_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType PROXY_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    private static final MethodInterceptor[] NO_INTERCEPTORS = new MethodInterceptor[0];
+
+    private final MethodHandle proxyConstructor;
+    private final Map<Method, Chain> chains;
+    private final Method[] cached;
+    private final int cacheSize;
+
+    /**
+     * Цепочка перехватчиков одного метода и сам метод в виде {@code (Object bean, Object[] arguments)Object}.
+     */
+    static final class Chain {
+        final Method method;
+        final MethodInterceptor[] interceptors;
+        final MethodHandle target;
+        private final int cache;
+        private final boolean async;
+
+        private Chain(Method method, MethodInterceptor[] interceptors, MethodHandle target, int cache) {
+            this.method = method;
+            this.interceptors = interceptors;
+            this.target = target;
+            this.cache = cache;
+            this.async = method.isAnnotationPresent(Async.class);
+        }
+
+        private Object invoke(Object bean, Object[] arguments) throws Throwable {
+            Object[] actual = arguments != null ? arguments : NO_ARGUMENTS;
+            if (interceptors.length == 0) {
+                return (Object) target.invokeExact(bean, actual);
+            }
+            return new Invocation(this, bean, actual).proceed();
+        }
+    }
+
+    /**
+     * Обработчик вызовов прокси одного инстанса бина.
+     */
+    private static final class Handler implements InvocationHandler {
+        private final Object bean;
+        private final Map<Method, Chain> chains;
+        private final Method[] cached;
+        private final MethodCache[] caches;
+        private final AsyncMethodExecutor executor;
+
+        private Handler(Object bean, Map<Method, Chain> chains, Method[] cached, MethodCache[] caches,
+                        AsyncMethodExecutor executor) {
+            this.bean = bean;
+            this.chains = chains;
+            this.cached = cached;
+            this.caches = caches;
+            this.executor = executor;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] arguments) throws Throwable {
+            Chain chain = chains.get(method);
+            if (chain.cache < 0) {
+                return dispatch(chain, arguments);
+            }
+            return caches[chain.cache].get(MethodCache.key(arguments), () -> dispatch(chain, arguments));
+        }
+
+        private Object dispatch(Chain chain, Object[] arguments) throws Throwable {
+            if (!chain.async) {
+                return chain.invoke(bean, arguments);
+            }
+            CompletableFuture<Object> result = executor.submit(() -> chain.invoke(bean, arguments));
+            return chain.method.getReturnType() == void.class ? null : result;
+        }
+    }
+
+    private InterceptionPlan(MethodHandle proxyConstructor, Map<Method, Chain> chains, Method[] cached,
+                             int cacheSize) {
+        this.proxyConstructor = proxyConstructor;
+        this.chains = chains;
+        this.cached = cached;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * @return план прокси или {@code null}, если к бину не привязан ни один перехватчик
+     */
+    static InterceptionPlan of(Class<?> beanClass) {
+        List<Class<? extends MethodInterceptor>> classBindings = bindings(beanClass);
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = beanClass; type != null; type = type.getSuperclass()) {
+            interfaces.addAll(List.of(type.getInterfaces()));
+        }
+
+        Map<Method, List<Class<? extends MethodInterceptor>>> methodBindings = new HashMap<>();
+        boolean intercepted = !classBindings.isEmpty();
+        for (Class<?> type : interfaces) {
+            for (Method method : type.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                List<Class<? extends MethodInterceptor>> chain = new ArrayList<>(classBindings);
+                for (Class<? extends MethodInterceptor> binding : bindings(implementation(beanClass, method))) {
+                    if (!chain.contains(binding)) {
+                        chain.add(binding);
+                    }
+                }
+                Method implementation = implementation(beanClass, method);
+                intercepted |= !chain.isEmpty() || isCacheable(implementation) || isAsync(implementation);
+                methodBindings.put(method, chain);
+            }
+        }
+        if (interfaces.isEmpty()) {
+            for (Method method : beanClass.getMethods()) {
+                intercepted |= !bindings(method).isEmpty() || isCacheable(method) || isAsync(method);
+            }
+        }
+        if (!intercepted) {
+            return null;
+        }
+        if (interfaces.isEmpty()) {
+            throw new RuntimeException("Bean " + beanClass.getName() + " with interceptors must implement an interface");
+        }
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+            Map<Class<?>, MethodInterceptor> instances = new HashMap<>();
+            Map<Method, Chain> chains = new HashMap<>();
+            List<Method> cached = new ArrayList<>();
+            for (var entry : methodBindings.entrySet()) {
+                MethodInterceptor[] interceptors = new MethodInterceptor[entry.getValue().size()];
+                for (int i = 0; i < interceptors.length; i++) {
+                    interceptors[i] = instances.computeIfAbsent(entry.getValue().get(i), InterceptionPlan::newInterceptor);
+                }
+                Method implementation = implementation(beanClass, entry.getKey());
+                if (isAsync(implementation) && entry.getKey().getReturnType() != void.class
+                        && !entry.getKey().getReturnType().isAssignableFrom(CompletableFuture.class)) {
+                    throw new RuntimeException("Async method must return void or CompletableFuture: " + implementation);
+                }
+                int cache = -1;
+                if (isCacheable(implementation)) {
+                    if (implementation.getReturnType() == void.class) {
+                        throw new RuntimeException("Cacheable method must return a value: " + implementation);
+                    }
+                    cache = cached.indexOf(implementation);
+                    if (cache < 0) {
+                        cached.add(implementation);
+                        cache = cached.size() - 1;
+                    }
+                }
+                chains.put(entry.getKey(), chain(lookup, implementation, interceptors, cache));
+            }
+            for (String name : List.of("equals", "hashCode", "toString")) {
+                Method method = name.equals("equals")
+                        ? Object.class.getMethod(name, Object.class)
+                        : Object.class.getMethod(name);
+                chains.put(method, chain(lookup, method, NO_INTERCEPTORS, -1));
+            }
+            Bean bean = beanClass.getAnnotation(Bean.class);
+            int cacheSize = bean != null ? bean.cacheSize() : (int) Bean.class.getMethod("cacheSize").getDefaultValue();
+            if (!cached.isEmpty() && cacheSize <= 0) {
+                throw new RuntimeException("Bean with cacheable methods must have positive cache size");
+            }
+
+            ClassLoader loader = beanClass.getClassLoader();
+            Class<?> proxyClass = Proxy.newProxyInstance(loader, interfaces.toArray(new Class<?>[0]),
+                    (proxy, method, arguments) -> null).getClass();
+            MethodHandles.Lookup proxyLookup = Modifier.isPublic(proxyClass.getModifiers())
+                    ? MethodHandles.publicLookup()
+                    : MethodHandles.privateLookupIn(proxyClass, MethodHandles.lookup());
+            MethodHandle proxyConstructor = proxyLookup
+                    .findConstructor(proxyClass, MethodType.methodType(void.class, InvocationHandler.class))
+                    .asType(PROXY_TYPE);
+            return new InterceptionPlan(proxyConstructor, Map.copyOf(chains), cached.toArray(new Method[0]),
+                    cacheSize);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Оборачивает созданный бин в прокси.
+     *
+     * @param executor пул для {@link Async} методов бина
+     */
+    Object wrap(Object bean, AsyncMethodExecutor executor) {
+        MethodCache[] caches = new MethodCache[cached.length];
+        for (int i = 0; i < cached.length; i++) {
+            long ttl = cached[i].getAnnotation(Cacheable.class).ttlMillis();
+            caches[i] = new MethodCache(cacheSize, TimeUnit.MILLISECONDS.toNanos(ttl));
+        }
+        InvocationHandler handler = new Handler(bean, chains, cached, caches, executor);
+        try {
+            return (Object) proxyConstructor.invokeExact(handler);
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return статистика кешей {@link Cacheable} методов бина по сигнатуре метода, пустая, если {@code bean} не
+     * обернут в прокси с кешами
+     */
+    static Map<String, CacheStats> cacheStats(Object bean) {
+        if (!Proxy.isProxyClass(bean.getClass()) || !(Proxy.getInvocationHandler(bean) instanceof Handler handler)) {
+            return Map.of();
+        }
+        Map<String, CacheStats> stats = new HashMap<>();
+        for (int i = 0; i < handler.cached.length; i++) {
+            Method method = handler.cached[i];
+            String signature = method.getName() + Arrays.stream(method.getParameterTypes())
+                    .map(Class::getSimpleName)
+                    .collect(Collectors.joining(", ", "(", ")"));
+            stats.put(signature, handler.caches[i].stats());
+        }
+        return Map.copyOf(stats);
+    }
+
+    private static Chain chain(MethodHandles.Lookup lookup, Method method, MethodInterceptor[] interceptors, int cache)
+            throws IllegalAccessException {
+        MethodHandle target = lookup.unreflect(method)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(TARGET_TYPE);
+        return new Chain(method, interceptors, target, cache);
+    }
+
+    private static boolean isCacheable(Method method) {
+        return method.isAnnotationPresent(Cacheable.class);
+    }
+
+    private static boolean isAsync(Method method) {
+        return method.isAnnotationPresent(Async.class);
+    }
+
+    private static Method implementation(Class<?> beanClass, Method method) {
+        try {
+            return beanClass.getMethod(method.getName(), method.getParameterTypes());
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return перехватчики из {@code @Interceptors} на элементе и на его аннотациях
+     */
+    private static List<Class<? extends MethodInterceptor>> bindings(AnnotatedElement element) {
+        List<Class<? extends MethodInterceptor>> result = new ArrayList<>();
+        for (Annotation annotation : element.getAnnotations()) {
+            Interceptors interceptors = annotation instanceof Interceptors direct
+                    ? direct
+                    : annotation.annotationType().getAnnotation(Interceptors.class);
+            if (interceptors != null) {
+                for (Class<? extends MethodInterceptor> interceptor : interceptors.value()) {
+                    if (!result.contains(interceptor)) {
+                        result.add(interceptor);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static MethodInterceptor newInterceptor(Class<?> interceptorClass) {
+        try {
+            return (MethodInterceptor) interceptorClass.getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Can't create interceptor " + interceptorClass.getName(), e);
+        }
+    }
+}
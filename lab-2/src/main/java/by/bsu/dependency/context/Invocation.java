@@ -0,0 +1,58 @@
+package by.bsu.dependency.context;
+
+import java.lang.reflect.Method;
+
+/**
+ * Перехваченный вызов метода бина. Передается по цепочке перехватчиков, последний {@link #proceed()} вызывает метод
+ * самого бина.
+ */
+public final class Invocation {
+    private final InterceptionPlan.Chain chain;
+    private final Object target;
+    private final Object[] arguments;
+    private int position;
+
+    Invocation(InterceptionPlan.Chain chain, Object target, Object[] arguments) {
+        this.chain = chain;
+        this.target = target;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return инстанс бина, метод которого вызывается
+     */
+    public Object getTarget() {
+        return target;
+    }
+
+    /**
+     * @return метод класса бина, реализующий вызванный метод интерфейса; на нем можно прочитать аннотации
+     */
+    public Method getMethod() {
+        return chain.method;
+    }
+
+    /**
+     * @return аргументы вызова; изменения элементов видны следующим перехватчикам и бину
+     */
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Передает вызов следующему перехватчику или, если перехватчиков больше нет, бину.
+     *
+     * @return результат метода
+     */
+    public Object proceed() throws Throwable {
+        int current = position;
+        position = current + 1;
+        try {
+            return current < chain.interceptors.length
+                    ? chain.interceptors[current].intercept(this)
+                    : (Object) chain.target.invokeExact(target, arguments);
+        } finally {
+            position = current;
+        }
+    }
+}
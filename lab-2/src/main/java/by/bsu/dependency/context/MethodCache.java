@@ -0,0 +1,144 @@
+package by.bsu.dependency.context;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ограниченный кеш результатов {@code @Cacheable} метода с вытеснением давно не использованных результатов (LRU).
+ * <br/>
+ * Кеш разбит на сегменты со своими блокировками, сегмент выбирается по хешу ключа, поэтому потоки с разными
+ * ключами редко ждут друг друга. Метод вызывается вне блокировки.
+ * <br/>
+ * Если метод вернул {@link CompletableFuture} (например, {@code @Async} метод), она кешируется сразу, а при
+ * завершении с исключением удаляется из кеша, как и исключение синхронного метода.
+ */
+final class MethodCache {
+    private static final int MAX_SEGMENTS = 16;
+    private static final Object NULL = new Object();
+    private static final Object NO_ARGUMENTS = new Object();
+
+    private final Segment[] segments;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Вычисление результата метода.
+     */
+    @FunctionalInterface
+    interface Loader {
+        Object load() throws Throwable;
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    @SuppressWarnings("serial")
+    private final class Segment extends LinkedHashMap<Object, Entry> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * @param maximumSize максимальное число результатов
+     * @param ttlNanos    время жизни результата, 0 - без ограничения
+     */
+    MethodCache(int maximumSize, long ttlNanos) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        int count = Integer.highestOneBit(Math.min(MAX_SEGMENTS, maximumSize));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return ключ кеша для аргументов вызова
+     */
+    static Object key(Object[] arguments) {
+        if (arguments == null || arguments.length == 0) {
+            return NO_ARGUMENTS;
+        }
+        if (arguments.length == 1) {
+            return arguments[0] != null ? arguments[0] : NULL;
+        }
+        return Arrays.asList(arguments.clone());
+    }
+
+    /**
+     * @return результат из кеша или вычисленный {@code loader} и сохраненный в кеше
+     */
+    Object get(Object key, Loader loader) throws Throwable {
+        Segment segment = segment(key);
+        long now = ttlNanos > 0 ? System.nanoTime() : 0;
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry != null && isFailed(entry.value)) {
+                segment.remove(key);
+            } else if (entry != null) {
+                if (ttlNanos == 0 || now - entry.expiresAt < 0) {
+                    hits.increment();
+                    return entry.value == NULL ? null : entry.value;
+                }
+                segment.remove(key);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        Object value = loader.load();
+        Entry loaded = new Entry(value != null ? value : NULL, now + ttlNanos);
+        synchronized (segment) {
+            segment.put(key, loaded);
+        }
+        if (value instanceof CompletableFuture<?> future) {
+            future.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    synchronized (segment) {
+                        segment.remove(key, loaded);
+                    }
+                }
+            });
+        }
+        return value;
+    }
+
+    private static boolean isFailed(Object value) {
+        return value instanceof CompletableFuture<?> future && future.isCompletedExceptionally();
+    }
+
+    CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size);
+    }
+
+    private Segment segment(Object key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+}
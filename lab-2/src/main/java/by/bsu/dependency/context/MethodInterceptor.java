@@ -0,0 +1,16 @@
+package by.bsu.dependency.context;
+
+/**
+ * Перехватчик вызовов методов бина, привязанный аннотацией {@link by.bsu.dependency.annotation.Interceptors}.
+ */
+@FunctionalInterface
+public interface MethodInterceptor {
+
+    /**
+     * Вызывается вместо метода бина. Чтобы передать вызов дальше по цепочке и в итоге в сам бин, перехватчик
+     * вызывает {@link Invocation#proceed()}, в том числе несколько раз или ни разу.
+     *
+     * @return результат метода
+     */
+    Object intercept(Invocation invocation) throws Throwable;
+}
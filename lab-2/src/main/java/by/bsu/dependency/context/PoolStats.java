@@ -0,0 +1,12 @@
+package by.bsu.dependency.context;
+
+/**
+ * Статистика пула бина со скоупом {@code POOLED}.
+ *
+ * @param hits    сколько раз инстанс был взят из пула
+ * @param misses  сколько раз пул был пуст и инстанс создавался заново
+ * @param idle    сколько свободных инстансов лежит в пуле сейчас
+ * @param maxSize максимальный размер пула
+ */
+public record PoolStats(long hits, long misses, int idle, int maxSize) {
+}
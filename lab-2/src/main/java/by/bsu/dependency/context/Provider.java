@@ -0,0 +1,19 @@
+package by.bsu.dependency.context;
+
+/**
+ * Источник инстансов бина для внедрения в {@code @Inject} поле или параметр конструктора типа {@code Provider<T>}.
+ * <br/>
+ * Провайдер привязывается к бину {@code T} при внедрении: каждый вызов {@link #get()} обращается к заранее
+ * скомпилированному плану создания бина без поиска по имени. Для {@code PROTOTYPE} бина каждый вызов возвращает
+ * новый инстанс с внедренными зависимостями, для остальных скоупов - инстанс по правилам скоупа.
+ *
+ * @param <T> тип бина
+ */
+@FunctionalInterface
+public interface Provider<T> {
+
+    /**
+     * @return инстанс бина
+     */
+    T get();
+}
@@ -0,0 +1,53 @@
+package by.bsu.dependency.context;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Скоуп {@code REQUEST}: инстанс бина живет, пока выполняется действие, переданное в {@link #call}.
+ * <br/>
+ * Повторяет модель {@code ScopedValue}: запрос привязывается к текущему потоку только на время вызова, вложенный
+ * запрос открывает новые слоты и по завершении восстанавливает внешние. В дочерние потоки запрос не передается.
+ */
+final class RequestScope implements Scope {
+    private final ThreadLocal<Object[]> current = new ThreadLocal<>();
+    private volatile int slots;
+
+    @Override
+    public void init(int slots) {
+        this.slots = slots;
+    }
+
+    @Override
+    public Object get(int slot, Supplier<Object> factory) {
+        Object[] request = current.get();
+        if (request == null) {
+            throw new IllegalStateException("No active request scope");
+        }
+        if (request.length <= slot) {
+            request = Arrays.copyOf(request, slots);
+            current.set(request);
+        }
+        Object instance = request[slot];
+        if (instance == null) {
+            instance = factory.get();
+            request[slot] = instance;
+        }
+        return instance;
+    }
+
+    <T> T call(Callable<T> action) throws Exception {
+        Object[] outer = current.get();
+        current.set(new Object[slots]);
+        try {
+            return action.call();
+        } finally {
+            if (outer == null) {
+                current.remove();
+            } else {
+                current.set(outer);
+            }
+        }
+    }
+}
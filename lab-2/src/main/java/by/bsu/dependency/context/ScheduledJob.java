@@ -0,0 +1,69 @@
+package by.bsu.dependency.context;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Периодический вызов {@code @Scheduled} метода одного бина. Сроки отслеживает общее {@link TimingWheel}, сам метод
+ * выполняется в пуле {@code @Async} методов контекста.
+ */
+final class ScheduledJob {
+    private final AsyncMethodExecutor.Call body;
+    private final long periodNanos;
+    private final boolean fixedRate;
+    private final long initialDelayNanos;
+    private final AsyncMethodExecutor executor;
+    private final TimingWheel wheel;
+    private volatile boolean cancelled;
+    private volatile TimingWheel.Task next;
+    private long deadline;
+    private CompletableFuture<Object> running;
+
+    ScheduledJob(AsyncMethodExecutor.Call body, long periodNanos, boolean fixedRate, long initialDelayNanos,
+                 AsyncMethodExecutor executor, TimingWheel wheel) {
+        this.body = body;
+        this.periodNanos = periodNanos;
+        this.fixedRate = fixedRate;
+        this.initialDelayNanos = initialDelayNanos;
+        this.executor = executor;
+        this.wheel = wheel;
+    }
+
+    void start() {
+        schedule(System.nanoTime() + initialDelayNanos);
+    }
+
+    /**
+     * Отменяет следующие вызовы, уже начавшийся вызов выполняется до конца.
+     */
+    void cancel() {
+        cancelled = true;
+        TimingWheel.Task task = next;
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    private void schedule(long deadline) {
+        this.deadline = deadline;
+        if (!cancelled) {
+            next = wheel.schedule(deadline, this::fire);
+        }
+    }
+
+    /**
+     * Выполняется в потоке колеса.
+     */
+    private void fire() {
+        if (cancelled) {
+            return;
+        }
+        if (!fixedRate) {
+            executor.submit(body).whenComplete((result, failure) -> schedule(System.nanoTime() + periodNanos));
+            return;
+        }
+        schedule(deadline + periodNanos);
+        if (running == null || running.isDone()) {
+            running = executor.submit(body);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package by.bsu.dependency.context;
+
+import java.util.function.Supplier;
+
+/**
+ * Скоуп бина: решает, вернуть ли уже существующий инстанс или создать новый.
+ * <br/>
+ * Контекст обращается к скоупу при каждом получении бина, скоуп которого не {@code SINGLETON}. Каждому бину скоупа
+ * при старте контекста выдается номер слота от {@code 0} до {@code slots - 1}, поэтому реализация может хранить
+ * инстансы в массиве и не искать их по имени.
+ * <br/>
+ * Инстанс скоупа принадлежит одному контексту. Собственные скоупы регистрируются через
+ * {@link AbstractApplicationContext#registerScope} и указываются в {@code @Bean(scope = CUSTOM, scopeName = ...)}.
+ */
+public interface Scope {
+
+    /**
+     * Вызывается при старте контекста и повторно, с большим числом слотов, при регистрации бина с этим скоупом в
+     * запущенном контексте. Инстансы в уже выданных слотах при повторном вызове должны сохраняться.
+     *
+     * @param slots число бинов контекста с этим скоупом
+     */
+    default void init(int slots) {
+    }
+
+    /**
+     * Возвращает инстанс бина.
+     *
+     * @param slot    номер слота бина в этом скоупе
+     * @param factory создает новый инстанс с внедренными зависимостями и выполненным {@code @PostConstruct}
+     * @return инстанс бина
+     */
+    Object get(int slot, Supplier<Object> factory);
+}
@@ -1,5 +1,12 @@
 package by.bsu.dependency.context;
 
+import by.bsu.dependency.exceptions.ApplicationContextNotStartedException;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public class SimpleApplicationContext extends AbstractApplicationContext {
     /**
      * Создает контекст, содержащий классы, переданные в параметре.
@@ -7,11 +14,41 @@ public class SimpleApplicationContext extends AbstractApplicationContext {
      * Если на классе нет аннотации {@code @Bean}, имя бина получается из названия класса, скоуп бина по дефолту
      * считается {@code Singleton}.
      * <br/>
-     * Подразумевается, что у всех классов, переданных в списке, есть конструктор без аргументов.
+     * Подразумевается, что у всех классов, переданных в списке, есть конструктор без аргументов или конструктор,
+     * помеченный {@code @Inject}.
      *
      * @param beanClasses классы, из которых требуется создать бины
      */
     public SimpleApplicationContext(Class<?>... beanClasses) {
         super(beanClasses);
     }
+
+    /**
+     * Создает дочерний контекст, содержащий только классы, переданные в параметре. Остальные бины, в том числе
+     * внедряемые в бины этого контекста, берутся из запущенного контекста {@code parent} и не создаются заново.
+     *
+     * @param parent      запущенный родительский контекст
+     * @param beanClasses классы, из которых требуется создать бины
+     * @throws ApplicationContextNotStartedException если родительский контекст еще не запущен
+     */
+    public SimpleApplicationContext(AbstractApplicationContext parent, Class<?>... beanClasses) {
+        super(parent, Arrays.asList(beanClasses));
+    }
+
+    /**
+     * Создает контекст, содержащий классы, переданные в параметре, используя снимок {@code snapshot}. Если снимок
+     * актуален, аннотации не разбираются и граф зависимостей не проверяется. Иначе контекст создается как обычно,
+     * а снимок перезаписывается.
+     *
+     * @param snapshot    путь к файлу снимка
+     * @param beanClasses классы, из которых требуется создать бины
+     */
+    public SimpleApplicationContext(Path snapshot, Class<?>... beanClasses) {
+        super();
+        Set<String> classNames = Arrays.stream(beanClasses).map(Class::getName).collect(Collectors.toSet());
+        ClassLoader classLoader = beanClasses.length > 0
+                ? beanClasses[0].getClassLoader()
+                : SimpleApplicationContext.class.getClassLoader();
+        init(snapshot, classLoader, classNames, () -> Arrays.asList(beanClasses));
+    }
 }
@@ -0,0 +1,282 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.annotation.BeanScope;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Профиль старта контекста: граф зависимостей, взвешенный замеренным временем создания бинов. Критический путь -
+ * самая длинная по времени цепочка зависимостей, то есть нижняя граница времени старта при неограниченном
+ * параллелизме. Ускорить старт можно только сократив бины на этом пути (например, сделав их ленивыми или
+ * вынеся {@code @PostConstruct} в асинхронный), бины с большим запасом на длину старта не влияют.
+ * <br/>
+ * Бин создается после готовности своих зависимостей, но зависимость с асинхронным {@code @PostConstruct} можно
+ * внедрять сразу после создания: ее метод задерживает только {@code @PostConstruct} зависимых бинов. Время
+ * асинхронных методов учитывается полностью, поэтому путь может проходить через них. Зависимости из родительского
+ * контекста считаются уже созданными.
+ */
+public final class StartupProfile {
+    private final Duration length;
+    private final List<String> criticalPath;
+    private final List<BeanProfile> beans;
+    private final List<List<String>> dependencies;
+    private final Map<String, BeanProfile> byName;
+    private final Map<String, Integer> pathPositions;
+
+    private StartupProfile(Duration length, List<String> criticalPath, List<BeanProfile> beans,
+                           List<List<String>> dependencies) {
+        this.length = length;
+        this.criticalPath = criticalPath;
+        this.beans = beans;
+        this.dependencies = dependencies;
+        this.byName = new HashMap<>(beans.size() * 2);
+        beans.forEach(bean -> byName.put(bean.name(), bean));
+        this.pathPositions = new HashMap<>(criticalPath.size() * 2);
+        for (int i = 0; i < criticalPath.size(); i++) {
+            pathPositions.put(criticalPath.get(i), i);
+        }
+    }
+
+    /**
+     * Строит профиль по графу бинов, пронумерованных в топологическом порядке: зависимости бина {@code id} -
+     * {@code dependencyIds[offsets[id]..offsets[id + 1])}, отрицательные номера обозначают бины родителя.
+     * Для каждого бина считается самое раннее время создания инстанса ({@code created}) и готовности после
+     * {@code @PostConstruct} ({@code ready}).
+     */
+    static StartupProfile of(BeanInfo[] definitions, int[] offsets, int[] dependencyIds, ContextMetrics metrics) {
+        int size = definitions.length;
+        long[] create = new long[size];
+        long[] hook = new long[size];
+        boolean[] async = new boolean[size];
+        long[] created = new long[size];
+        long[] ready = new long[size];
+        long length = 0;
+        int last = -1;
+        for (int id = 0; id < size; id++) {
+            BeanInfo beanInfo = definitions[id];
+            if (beanInfo.scope == BeanScope.SINGLETON && !beanInfo.lazy) {
+                BeanMetrics beanMetrics = metrics.get(beanInfo.name);
+                create[id] = beanMetrics.getInstantiateTime().plus(beanMetrics.getInjectTime()).toNanos();
+                hook[id] = beanMetrics.getPostConstructTime().toNanos();
+                async[id] = beanInfo.getPlan().hasAsyncPostConstruct();
+            }
+            long dependenciesCreated = 0;
+            long dependenciesReady = 0;
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                int dependency = dependencyIds[edge];
+                if (dependency >= 0) {
+                    dependenciesCreated = Math.max(dependenciesCreated, available(dependency, async, created, ready));
+                    dependenciesReady = Math.max(dependenciesReady, ready[dependency]);
+                }
+            }
+            created[id] = dependenciesCreated + create[id];
+            ready[id] = Math.max(created[id], dependenciesReady) + hook[id];
+            if (last < 0 || ready[id] > length) {
+                length = ready[id];
+                last = id;
+            }
+        }
+
+        long[] latestCreated = new long[size];
+        long[] latestReady = new long[size];
+        long[] latestAvailable = new long[size];
+        Arrays.fill(latestReady, length);
+        Arrays.fill(latestAvailable, length);
+        for (int id = size - 1; id >= 0; id--) {
+            if (!async[id]) {
+                latestReady[id] = Math.min(latestReady[id], latestAvailable[id]);
+            }
+            latestCreated[id] = latestReady[id] - hook[id];
+            if (async[id]) {
+                latestCreated[id] = Math.min(latestCreated[id], latestAvailable[id]);
+            }
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                int dependency = dependencyIds[edge];
+                if (dependency >= 0) {
+                    latestAvailable[dependency] = Math.min(latestAvailable[dependency], latestCreated[id] - create[id]);
+                    latestReady[dependency] = Math.min(latestReady[dependency], latestReady[id] - hook[id]);
+                }
+            }
+        }
+
+        boolean[] critical = new boolean[size];
+        List<String> criticalPath = new ArrayList<>();
+        for (int id = last; id >= 0; ) {
+            critical[id] = true;
+            criticalPath.add(definitions[id].name);
+            // метод бина ждал готовности зависимости, иначе - создания зависимости
+            boolean waitedReady = ready[id] - hook[id] > created[id];
+            int next = -1;
+            long nextTime = 0;
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                int dependency = dependencyIds[edge];
+                if (dependency < 0) {
+                    continue;
+                }
+                long time = waitedReady ? ready[dependency] : available(dependency, async, created, ready);
+                if (next < 0 || time > nextTime) {
+                    next = dependency;
+                    nextTime = time;
+                }
+            }
+            id = next;
+        }
+        Collections.reverse(criticalPath);
+
+        List<BeanProfile> beans = new ArrayList<>(size);
+        List<List<String>> dependencies = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            BeanInfo beanInfo = definitions[id];
+            BeanMetrics beanMetrics = metrics.get(beanInfo.name);
+            long slack = Math.min(latestReady[id] - ready[id], latestCreated[id] - created[id]);
+            beans.add(new BeanProfile(beanInfo.name, beanInfo.scope, beanInfo.lazy,
+                    beanMetrics.getInstantiateTime(), beanMetrics.getInjectTime(), beanMetrics.getPostConstructTime(),
+                    Duration.ofNanos(create[id] + hook[id]), Duration.ofNanos(created[id] - create[id]),
+                    Duration.ofNanos(ready[id]), Duration.ofNanos(slack), critical[id]));
+
+            List<String> beanDependencies = new ArrayList<>(offsets[id + 1] - offsets[id]);
+            for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+                if (dependencyIds[edge] >= 0) {
+                    beanDependencies.add(definitions[dependencyIds[edge]].name);
+                }
+            }
+            dependencies.add(List.copyOf(beanDependencies));
+        }
+        return new StartupProfile(Duration.ofNanos(length), List.copyOf(criticalPath), List.copyOf(beans),
+                List.copyOf(dependencies));
+    }
+
+    /**
+     * @return время, после которого бин можно внедрять: создание для бина с асинхронным {@code @PostConstruct},
+     * иначе готовность
+     */
+    private static long available(int id, boolean[] async, long[] created, long[] ready) {
+        return async[id] ? created[id] : ready[id];
+    }
+
+    /**
+     * @return длина критического пути
+     */
+    public Duration getLength() {
+        return length;
+    }
+
+    /**
+     * @return имена бинов критического пути от первого созданного к последнему
+     */
+    public List<String> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * @return профили всех бинов контекста в порядке создания
+     */
+    public List<BeanProfile> getBeans() {
+        return beans;
+    }
+
+    public Optional<BeanProfile> getBeanProfile(String name) {
+        return Optional.ofNullable(byName.get(name));
+    }
+
+    /**
+     * Граф в формате Graphviz DOT: ребро ведет от бина к его зависимости, критический путь выделен красным,
+     * бины, не создаваемые при старте, - пунктиром.
+     */
+    public String toDot() {
+        StringBuilder dot = new StringBuilder("digraph startup {\n");
+        dot.append("  rankdir=BT;\n");
+        dot.append("  node [shape=box];\n");
+        for (BeanProfile bean : beans) {
+            dot.append("  ").append(quote(bean.name()))
+                    .append(" [label=\"").append(escape(bean.name()))
+                    .append("\\ncost ").append(millis(bean.cost()))
+                    .append("\\nslack ").append(millis(bean.slack())).append('"');
+            if (bean.critical()) {
+                dot.append(", color=red, penwidth=2");
+            }
+            if (bean.scope() != BeanScope.SINGLETON || bean.lazy()) {
+                dot.append(", style=dashed");
+            }
+            dot.append("];\n");
+        }
+        for (int id = 0; id < beans.size(); id++) {
+            BeanProfile bean = beans.get(id);
+            for (String dependency : dependencies.get(id)) {
+                dot.append("  ").append(quote(bean.name())).append(" -> ").append(quote(dependency));
+                Integer position = pathPositions.get(bean.name());
+                if (position != null && position > 0 && criticalPath.get(position - 1).equals(dependency)) {
+                    dot.append(" [color=red, penwidth=2]");
+                }
+                dot.append(";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Профиль в формате JSON, все времена - в наносекундах.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"length\":").append(length.toNanos());
+        json.append(",\"criticalPath\":");
+        appendNames(json, criticalPath);
+        json.append(",\"beans\":[");
+        for (int id = 0; id < beans.size(); id++) {
+            BeanProfile bean = beans.get(id);
+            if (id > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":").append(quote(bean.name()))
+                    .append(",\"scope\":\"").append(bean.scope()).append('"')
+                    .append(",\"lazy\":").append(bean.lazy())
+                    .append(",\"instantiate\":").append(bean.instantiate().toNanos())
+                    .append(",\"inject\":").append(bean.inject().toNanos())
+                    .append(",\"postConstruct\":").append(bean.postConstruct().toNanos())
+                    .append(",\"cost\":").append(bean.cost().toNanos())
+                    .append(",\"start\":").append(bean.start().toNanos())
+                    .append(",\"finish\":").append(bean.finish().toNanos())
+                    .append(",\"slack\":").append(bean.slack().toNanos())
+                    .append(",\"critical\":").append(bean.critical())
+                    .append(",\"dependencies\":");
+            appendNames(json, dependencies.get(id));
+            json.append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static void appendNames(StringBuilder json, List<String> names) {
+        json.append('[');
+        for (int i = 0; i < names.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(quote(names.get(i)));
+        }
+        json.append(']');
+    }
+
+    private static String quote(String value) {
+        return '"' + escape(value) + '"';
+    }
+
+    /**
+     * Экранирует строку для DOT и JSON: имена бинов не содержат управляющих символов, поэтому достаточно
+     * экранировать кавычки и обратную косую черту.
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static String millis(Duration duration) {
+        return String.format(Locale.ROOT, "%.3f ms", duration.toNanos() / 1_000_000.0);
+    }
+}
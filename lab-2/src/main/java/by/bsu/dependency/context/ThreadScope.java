@@ -0,0 +1,32 @@
+package by.bsu.dependency.context;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Скоуп {@code THREAD}: у каждого потока свой инстанс бина.
+ */
+final class ThreadScope implements Scope {
+    private final ThreadLocal<Object[]> instances = new ThreadLocal<>();
+    private volatile int slots;
+
+    @Override
+    public void init(int slots) {
+        this.slots = slots;
+    }
+
+    @Override
+    public Object get(int slot, Supplier<Object> factory) {
+        Object[] current = instances.get();
+        if (current == null || current.length <= slot) {
+            current = current == null ? new Object[slots] : Arrays.copyOf(current, slots);
+            instances.set(current);
+        }
+        Object instance = current[slot];
+        if (instance == null) {
+            instance = factory.get();
+            current[slot] = instance;
+        }
+        return instance;
+    }
+}
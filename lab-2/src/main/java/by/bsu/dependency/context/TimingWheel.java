@@ -0,0 +1,161 @@
+package by.bsu.dependency.context;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Иерархическое колесо таймеров с шагом в миллисекунду: {@value #LEVELS} уровня по {@value #WHEEL_SIZE} слотов,
+ * слот уровня {@code l} покрывает {@code 64^l} шагов. Задача кладется в слот за O(1) и по мере приближения срока
+ * спускается на нижние уровни. Задачи со сроком дальше {@code 64^4} шагов (около 4.6 часа) ждут в последнем слоте
+ * верхнего уровня и перекладываются при его обходе.
+ * <br/>
+ * Колесом владеет один daemon поток: новые задачи передаются ему через неблокирующую очередь, отмена только
+ * помечает задачу. Пока задач нет, поток спит до появления новой. Действие задачи выполняется в этом потоке и
+ * должно только передать работу в другой пул.
+ */
+final class TimingWheel {
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_SPAN = 1L << (WHEEL_BITS * LEVELS);
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long origin = System.nanoTime();
+    private final Queue<Task> incoming = new ConcurrentLinkedQueue<>();
+    private final Task[][] slots = new Task[LEVELS][WHEEL_SIZE];
+    private final Thread driver;
+    private volatile boolean idle;
+    private long tick;
+    private int count;
+
+    /**
+     * Общее колесо всех контекстов, поток создается при первом использовании.
+     */
+    private static final class SharedHolder {
+        private static final TimingWheel WHEEL = new TimingWheel("timing-wheel");
+    }
+
+    /**
+     * Задача колеса. Отмененная задача не выполняется и удаляется из слота при его обходе.
+     */
+    static final class Task {
+        private final long deadline;
+        private final Runnable action;
+        private volatile boolean cancelled;
+        private Task next;
+
+        private Task(long deadline, Runnable action) {
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    TimingWheel(String threadName) {
+        this.driver = new Thread(this::run, threadName);
+        driver.setDaemon(true);
+        driver.start();
+    }
+
+    static TimingWheel shared() {
+        return SharedHolder.WHEEL;
+    }
+
+    /**
+     * Выполнит {@code action} в потоке колеса не раньше {@code deadlineNanos} по {@link System#nanoTime()}.
+     */
+    Task schedule(long deadlineNanos, Runnable action) {
+        long delta = deadlineNanos - origin;
+        long deadline = delta > 0 ? (delta + TICK_NANOS - 1) / TICK_NANOS : 0;
+        Task task = new Task(deadline, action);
+        incoming.add(task);
+        if (idle) {
+            LockSupport.unpark(driver);
+        }
+        return task;
+    }
+
+    private void run() {
+        while (true) {
+            for (Task task = incoming.poll(); task != null; task = incoming.poll()) {
+                count++;
+                place(task);
+            }
+
+            long now = (System.nanoTime() - origin) / TICK_NANOS;
+            if (count == 0) {
+                tick = Math.max(tick, now);
+                idle = true;
+                if (incoming.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                continue;
+            }
+            while (tick < now) {
+                advance(++tick);
+            }
+            LockSupport.parkNanos(this, origin + (tick + 1) * TICK_NANOS - System.nanoTime());
+        }
+    }
+
+    /**
+     * Обходит слоты, срок которых наступил на шаге {@code tick}: сначала перекладывает задачи из верхних уровней,
+     * затем выполняет задачи нижнего.
+     */
+    private void advance(long tick) {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) == 0) {
+                drain(level, (int) (tick >>> (WHEEL_BITS * level)) & (WHEEL_SIZE - 1));
+            }
+        }
+        drain(0, (int) tick & (WHEEL_SIZE - 1));
+    }
+
+    private void drain(int level, int slot) {
+        Task task = slots[level][slot];
+        slots[level][slot] = null;
+        while (task != null) {
+            Task next = task.next;
+            task.next = null;
+            if (task.cancelled) {
+                count--;
+            } else {
+                place(task);
+            }
+            task = next;
+        }
+    }
+
+    /**
+     * Кладет задачу в слот по оставшемуся до срока числу шагов или выполняет, если срок наступил.
+     */
+    private void place(Task task) {
+        long delay = task.deadline - tick;
+        if (delay <= 0) {
+            count--;
+            if (!task.cancelled) {
+                try {
+                    task.action.run();
+                } catch (RuntimeException e) {
+                    driver.getUncaughtExceptionHandler().uncaughtException(driver, e);
+                }
+            }
+            return;
+        }
+
+        long deadline = delay < MAX_SPAN ? task.deadline : tick + MAX_SPAN - 1;
+        int level = 0;
+        while (deadline - tick >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) (deadline >>> (WHEEL_BITS * level)) & (WHEEL_SIZE - 1);
+        task.next = slots[level][slot];
+        slots[level][slot] = task;
+    }
+}
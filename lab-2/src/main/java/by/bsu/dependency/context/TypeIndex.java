@@ -0,0 +1,203 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.annotation.BeanScope;
+import by.bsu.dependency.exceptions.NoUniqueBeanDefinitionException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Индекс бинов по типу: для каждого класса бина, всех его суперклассов и интерфейсов хранит имена подходящих
+ * бинов, заранее выбранный основной бин и, если все кандидаты - уже созданные {@code SINGLETON} бины, готовую
+ * неизменяемую карту инстансов.
+ */
+final class TypeIndex {
+
+    /**
+     * @param primary   имя бина, возвращаемого по типу, или {@code null}, если кандидатов несколько
+     * @param names     имена всех бинов, приводимых к типу
+     * @param instances готовые инстансы для {@code getBeansOfType} или {@code null}, если их нужно создавать
+     */
+    record Entry(String primary, List<String> names, Map<String, Object> instances) {
+    }
+
+    private final Map<Class<?>, List<String>> candidates;
+    private final Map<Class<?>, Entry> entries;
+
+    private TypeIndex(Map<Class<?>, List<String>> candidates, Map<Class<?>, Entry> entries) {
+        this.candidates = candidates;
+        this.entries = entries;
+    }
+
+    /**
+     * Строит индекс по определениям бинов, обходя иерархию каждого класса.
+     */
+    static TypeIndex build(Map<String, BeanInfo> definitions) {
+        Map<Class<?>, List<String>> candidates = new HashMap<>();
+        definitions.forEach((name, beanInfo) -> {
+            for (Class<?> type : assignableTypes(beanInfo.beanClass)) {
+                candidates.computeIfAbsent(type, key -> new ArrayList<>()).add(name);
+            }
+        });
+        candidates.replaceAll((type, names) -> {
+            Collections.sort(names);
+            return List.copyOf(names);
+        });
+        return of(candidates, definitions, name -> null);
+    }
+
+    /**
+     * Строит индекс по готовому списку кандидатов для каждого типа, без обхода иерархии классов.
+     */
+    static TypeIndex of(Map<Class<?>, List<String>> candidates, Map<String, BeanInfo> definitions,
+                        Function<String, Object> singletons) {
+        Map<Class<?>, Entry> entries = new HashMap<>();
+        candidates.forEach((type, names) -> entries.put(type, new Entry(
+                choosePrimary(type, names, definitions),
+                names,
+                collectInstances(names, definitions, singletons)
+        )));
+        return new TypeIndex(Map.copyOf(candidates), Map.copyOf(entries));
+    }
+
+    /**
+     * Возвращает тот же индекс, в котором для типов, все кандидаты которых уже созданы, собраны готовые карты
+     * инстансов.
+     *
+     * @param singletons возвращает созданный инстанс {@code SINGLETON} бина по имени или {@code null}
+     */
+    TypeIndex withInstances(Map<String, BeanInfo> definitions, Function<String, Object> singletons) {
+        return of(candidates, definitions, singletons);
+    }
+
+    /**
+     * Возвращает индекс с добавленным бином {@code name}. Пересчитываются только записи для класса бина, его
+     * суперклассов и интерфейсов.
+     *
+     * @param definitions определения бинов, уже включающие {@code name}
+     */
+    TypeIndex withBean(String name, Map<String, BeanInfo> definitions, Function<String, Object> singletons) {
+        return update(name, definitions.get(name).beanClass, true, definitions, singletons);
+    }
+
+    /**
+     * Возвращает индекс без бина {@code name}. Пересчитываются только записи для класса бина, его суперклассов и
+     * интерфейсов.
+     *
+     * @param definitions определения бинов, уже не включающие {@code name}
+     */
+    TypeIndex withoutBean(String name, Class<?> beanClass, Map<String, BeanInfo> definitions,
+                          Function<String, Object> singletons) {
+        return update(name, beanClass, false, definitions, singletons);
+    }
+
+    private TypeIndex update(String name, Class<?> beanClass, boolean add, Map<String, BeanInfo> definitions,
+                             Function<String, Object> singletons) {
+        Map<Class<?>, List<String>> updatedCandidates = new HashMap<>(candidates);
+        Map<Class<?>, Entry> updatedEntries = new HashMap<>(entries);
+        for (Class<?> type : assignableTypes(beanClass)) {
+            List<String> names = new ArrayList<>(candidates.getOrDefault(type, List.of()));
+            names.remove(name);
+            if (add) {
+                names.add(name);
+                Collections.sort(names);
+            }
+            if (names.isEmpty()) {
+                updatedCandidates.remove(type);
+                updatedEntries.remove(type);
+            } else {
+                List<String> copy = List.copyOf(names);
+                updatedCandidates.put(type, copy);
+                updatedEntries.put(type, new Entry(
+                        choosePrimary(type, copy, definitions),
+                        copy,
+                        collectInstances(copy, definitions, singletons)
+                ));
+            }
+        }
+        return new TypeIndex(Map.copyOf(updatedCandidates), Map.copyOf(updatedEntries));
+    }
+
+    /**
+     * @return имена бинов для каждого типа, отсортированные по имени
+     */
+    Map<Class<?>, List<String>> candidates() {
+        return candidates;
+    }
+
+    /**
+     * @return запись индекса или {@code null}, если бинов такого типа нет
+     */
+    Entry get(Class<?> type) {
+        return entries.get(type);
+    }
+
+    /**
+     * Возвращает имя бина, который нужно внедрить в поле типа {@code type}.
+     *
+     * @return имя бина или {@code null}, если бинов такого типа нет
+     * @throws NoUniqueBeanDefinitionException если подходящих бинов несколько
+     */
+    String resolveName(Class<?> type) {
+        Entry entry = entries.get(type);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.primary() == null) {
+            throw new NoUniqueBeanDefinitionException(type, entry.names());
+        }
+        return entry.primary();
+    }
+
+    private static String choosePrimary(Class<?> type, List<String> names, Map<String, BeanInfo> definitions) {
+        if (names.size() == 1) {
+            return names.get(0);
+        }
+        for (String name : names) {
+            if (definitions.get(name).beanClass == type) {
+                return name;
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> collectInstances(List<String> names, Map<String, BeanInfo> definitions,
+                                                        Function<String, Object> singletons) {
+        Map<String, Object> instances = new LinkedHashMap<>();
+        for (String name : names) {
+            BeanInfo beanInfo = definitions.get(name);
+            Object instance = singletons.apply(name);
+            if (beanInfo.scope != BeanScope.SINGLETON || beanInfo.lazy || instance == null) {
+                return null;
+            }
+            instances.put(name, instance);
+        }
+        return Collections.unmodifiableMap(instances);
+    }
+
+    /**
+     * @return класс бина, его суперклассы и все их интерфейсы, кроме {@code Object}
+     */
+    static List<Class<?>> assignableTypes(Class<?> beanClass) {
+        List<Class<?>> types = new ArrayList<>();
+        for (Class<?> type = beanClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            types.add(type);
+            addInterfaces(type, types);
+        }
+        return types;
+    }
+
+    private static void addInterfaces(Class<?> type, List<Class<?>> types) {
+        for (Class<?> anInterface : type.getInterfaces()) {
+            if (!types.contains(anInterface)) {
+                types.add(anInterface);
+                addInterfaces(anInterface, types);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package by.bsu.dependency.exceptions;
+
+import java.util.List;
+
+public class BeanNotOfRequiredTypeException extends RuntimeException {
+    public BeanNotOfRequiredTypeException(String name, Class<?> type, List<Class<?>> interfaces) {
+        super("Bean " + name + " with interceptors is a proxy and can't be requested as " + type.getName()
+                + ", request it by one of its interfaces: " + interfaces.stream().map(Class::getName).toList());
+    }
+}
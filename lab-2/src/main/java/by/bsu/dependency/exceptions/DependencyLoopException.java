@@ -1,7 +1,9 @@
 package by.bsu.dependency.exceptions;
 
+import java.util.List;
+
 public class DependencyLoopException extends RuntimeException {
-    public DependencyLoopException(String name) {
-        super("Dependency graph is cyclic, the cycle contains bean: " + name);
+    public DependencyLoopException(List<String> cycle) {
+        super("Dependency graph is cyclic: " + String.join(" -> ", cycle));
     }
 }
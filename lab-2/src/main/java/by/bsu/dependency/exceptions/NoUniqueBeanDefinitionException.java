@@ -0,0 +1,9 @@
+package by.bsu.dependency.exceptions;
+
+import java.util.List;
+
+public class NoUniqueBeanDefinitionException extends RuntimeException {
+    public NoUniqueBeanDefinitionException(Class<?> type, List<String> names) {
+        super("More than one bean of type " + type.getName() + ": " + names);
+    }
+}
@@ -0,0 +1,13 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+@Bean
+public class FailingWarmupBean {
+
+    @PostConstruct(async = true)
+    void warmUp() {
+        throw new IllegalStateException("Warmup failed");
+    }
+}
@@ -0,0 +1,25 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+@Bean
+public class FutureWarmupBean {
+
+    private volatile boolean warmedUp = false;
+
+    @PostConstruct(async = true)
+    CompletionStage<Void> warmUp() {
+        return CompletableFuture.runAsync(() -> {
+            WarmupBean.rendezvous.countDown();
+            warmedUp = true;
+        });
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+}
@@ -0,0 +1,32 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Async;
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Cacheable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Кешируемый {@code @Async} метод, первый вызов которого завершается исключением.
+ */
+@Bean(name = "quoteBean")
+public class QuoteBean implements QuoteService {
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Override
+    @Async
+    @Cacheable
+    public CompletableFuture<String> quote(String symbol) {
+        if (calls.incrementAndGet() == 1) {
+            throw new IllegalStateException("Quote service is not ready");
+        }
+        return CompletableFuture.completedFuture(symbol + " 100");
+    }
+
+    @Override
+    public int getCalls() {
+        return calls.get();
+    }
+}
@@ -0,0 +1,10 @@
+package by.bsu.dependency.test.async;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface QuoteService {
+
+    CompletableFuture<String> quote(String symbol);
+
+    int getCalls();
+}
@@ -0,0 +1,33 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Async;
+import by.bsu.dependency.annotation.Bean;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+@Bean(name = "reportBean")
+public class ReportBean implements ReportService {
+
+    @Override
+    @Async
+    public CompletableFuture<String> render(String name) {
+        return CompletableFuture.completedFuture(name + " from " + Thread.currentThread().getName());
+    }
+
+    @Override
+    @Async
+    public CompletableFuture<Void> await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public String currentThread() {
+        return Thread.currentThread().getName();
+    }
+}
@@ -0,0 +1,13 @@
+package by.bsu.dependency.test.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+public interface ReportService {
+
+    CompletableFuture<String> render(String name);
+
+    CompletableFuture<Void> await(CountDownLatch latch);
+
+    String currentThread();
+}
@@ -0,0 +1,21 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+@Bean
+public class SlowWarmupBean {
+
+    public static final long WARMUP_MILLIS = 100;
+
+    /**
+     * {@link System#nanoTime()} окончания последнего прогрева.
+     */
+    public static volatile long warmedUpAt;
+
+    @PostConstruct(async = true)
+    void warmUp() throws InterruptedException {
+        Thread.sleep(WARMUP_MILLIS);
+        warmedUpAt = System.nanoTime();
+    }
+}
@@ -0,0 +1,19 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.annotation.PostConstruct;
+
+@Bean
+public class SlowWarmupConsumerBean {
+
+    public static final long WARMUP_MILLIS = 100;
+
+    @Inject
+    private SlowWarmupBean slowWarmupBean;
+
+    @PostConstruct
+    void postConstruct() throws InterruptedException {
+        Thread.sleep(WARMUP_MILLIS);
+    }
+}
@@ -0,0 +1,31 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Bean
+public class WarmupBean {
+
+    public static volatile CountDownLatch rendezvous = new CountDownLatch(2);
+
+    private volatile boolean warmedUp = false;
+    private volatile boolean concurrent = false;
+
+    @PostConstruct(async = true)
+    void warmUp() throws InterruptedException {
+        rendezvous.countDown();
+        concurrent = rendezvous.await(5, TimeUnit.SECONDS);
+        warmedUp = true;
+    }
+
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+}
@@ -0,0 +1,26 @@
+package by.bsu.dependency.test.async;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.annotation.PostConstruct;
+
+@Bean
+public class WarmupConsumerBean {
+
+    @Inject
+    private WarmupBean warmupBean;
+
+    @Inject
+    private FutureWarmupBean futureWarmupBean;
+
+    private boolean dependenciesReady = false;
+
+    @PostConstruct
+    void postConstruct() {
+        dependenciesReady = warmupBean.isWarmedUp() && futureWarmupBean.isWarmedUp();
+    }
+
+    public boolean isDependenciesReady() {
+        return dependenciesReady;
+    }
+}
@@ -0,0 +1,10 @@
+package by.bsu.dependency.test.cache;
+
+public interface Calculator {
+
+    long square(int x);
+
+    String clock(String zone);
+
+    int getCalls();
+}
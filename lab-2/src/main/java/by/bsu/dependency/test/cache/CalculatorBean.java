@@ -0,0 +1,29 @@
+package by.bsu.dependency.test.cache;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Cacheable;
+
+@Bean(name = "calculatorBean", cacheSize = 2)
+public class CalculatorBean implements Calculator {
+
+    private int calls = 0;
+
+    @Override
+    @Cacheable
+    public long square(int x) {
+        calls++;
+        return (long) x * x;
+    }
+
+    @Override
+    @Cacheable(ttlMillis = 50)
+    public String clock(String zone) {
+        calls++;
+        return zone + ":" + System.nanoTime();
+    }
+
+    @Override
+    public int getCalls() {
+        return calls;
+    }
+}
@@ -0,0 +1,27 @@
+package by.bsu.dependency.test.constructor;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.test.types.Greeter;
+
+@Bean
+public class ConstructorBean {
+
+    private final FirstBean firstBean;
+    private final Greeter greeter;
+
+    @Inject
+    public ConstructorBean(FirstBean firstBean, Greeter greeter) {
+        this.firstBean = firstBean;
+        this.greeter = greeter;
+    }
+
+    public FirstBean getFirstBean() {
+        return firstBean;
+    }
+
+    public Greeter getGreeter() {
+        return greeter;
+    }
+}
@@ -0,0 +1,10 @@
+package by.bsu.dependency.test.constructor;
+
+import by.bsu.dependency.annotation.Inject;
+
+public class FirstConstructorLoopBean {
+
+    @Inject
+    public FirstConstructorLoopBean(SecondConstructorLoopBean secondConstructorLoopBean) {
+    }
+}
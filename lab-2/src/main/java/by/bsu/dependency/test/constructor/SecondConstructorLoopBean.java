@@ -0,0 +1,9 @@
+package by.bsu.dependency.test.constructor;
+
+import by.bsu.dependency.annotation.Inject;
+
+public class SecondConstructorLoopBean {
+
+    @Inject
+    private FirstConstructorLoopBean firstConstructorLoopBean;
+}
@@ -0,0 +1,24 @@
+package by.bsu.dependency.test.hierarchy;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.test.types.Greeter;
+
+@Bean
+public class TenantService {
+
+    @Inject
+    private FirstBean firstBean;
+
+    @Inject
+    private Greeter greeter;
+
+    public FirstBean getFirstBean() {
+        return firstBean;
+    }
+
+    public Greeter getGreeter() {
+        return greeter;
+    }
+}
@@ -0,0 +1,11 @@
+package by.bsu.dependency.test.intercept;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+
+@Bean(name = "concreteGreeterClientBean")
+public class ConcreteGreeterClientBean {
+
+    @Inject
+    private GreeterBean greeter;
+}
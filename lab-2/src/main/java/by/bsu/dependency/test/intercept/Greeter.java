@@ -0,0 +1,8 @@
+package by.bsu.dependency.test.intercept;
+
+public interface Greeter {
+
+    String greet(String name);
+
+    int flaky();
+}
@@ -0,0 +1,25 @@
+package by.bsu.dependency.test.intercept;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Interceptors;
+
+@Bean(name = "greeterBean")
+@Interceptors(UpperCaseInterceptor.class)
+public class GreeterBean implements Greeter {
+
+    private int attempts = 0;
+
+    @Override
+    public String greet(String name) {
+        return "hello, " + name;
+    }
+
+    @Override
+    @Retry(attempts = 3)
+    public int flaky() {
+        if (++attempts < 3) {
+            throw new IllegalStateException("Attempt " + attempts);
+        }
+        return attempts;
+    }
+}
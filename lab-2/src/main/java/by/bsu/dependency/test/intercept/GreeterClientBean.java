@@ -0,0 +1,15 @@
+package by.bsu.dependency.test.intercept;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+
+@Bean(name = "greeterClientBean")
+public class GreeterClientBean {
+
+    @Inject
+    private Greeter greeter;
+
+    public String greetEveryone() {
+        return greeter.greet("everyone");
+    }
+}
@@ -0,0 +1,16 @@
+package by.bsu.dependency.test.intercept;
+
+import by.bsu.dependency.annotation.Interceptors;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Interceptors(RetryInterceptor.class)
+public @interface Retry {
+
+    int attempts();
+}
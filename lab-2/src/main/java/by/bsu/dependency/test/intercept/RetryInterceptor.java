@@ -0,0 +1,21 @@
+package by.bsu.dependency.test.intercept;
+
+import by.bsu.dependency.context.Invocation;
+import by.bsu.dependency.context.MethodInterceptor;
+
+public class RetryInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        int attempts = invocation.getMethod().getAnnotation(Retry.class).attempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return invocation.proceed();
+            } catch (RuntimeException e) {
+                if (attempt == attempts) {
+                    throw e;
+                }
+            }
+        }
+    }
+}
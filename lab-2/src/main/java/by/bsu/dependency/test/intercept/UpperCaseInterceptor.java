@@ -0,0 +1,13 @@
+package by.bsu.dependency.test.intercept;
+
+import by.bsu.dependency.context.Invocation;
+import by.bsu.dependency.context.MethodInterceptor;
+
+public class UpperCaseInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        return result instanceof String string ? string.toUpperCase() : result;
+    }
+}
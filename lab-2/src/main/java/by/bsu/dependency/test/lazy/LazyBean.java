@@ -0,0 +1,17 @@
+package by.bsu.dependency.test.lazy;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Bean(lazy = true)
+public class LazyBean {
+
+    public static final AtomicInteger created = new AtomicInteger();
+
+    @PostConstruct
+    public void postConstruct() {
+        created.incrementAndGet();
+    }
+}
@@ -0,0 +1,15 @@
+package by.bsu.dependency.test.lazy;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+
+@Bean(lazy = true)
+public class LazyConsumerBean {
+
+    @Inject
+    private LazyBean lazyBean;
+
+    public LazyBean getLazyBean() {
+        return lazyBean;
+    }
+}
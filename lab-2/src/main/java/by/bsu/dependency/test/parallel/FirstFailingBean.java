@@ -0,0 +1,14 @@
+package by.bsu.dependency.test.parallel;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+@Bean
+public class FirstFailingBean {
+
+    @PostConstruct
+    void postConstruct() throws InterruptedException {
+        Thread.sleep(20);
+        throw new IllegalStateException("First bean failed");
+    }
+}
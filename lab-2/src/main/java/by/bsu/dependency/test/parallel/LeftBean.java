@@ -0,0 +1,25 @@
+package by.bsu.dependency.test.parallel;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@Bean
+public class LeftBean {
+
+    public static volatile CountDownLatch rendezvous = new CountDownLatch(2);
+
+    private boolean concurrent = false;
+
+    @PostConstruct
+    void postConstruct() throws InterruptedException {
+        rendezvous.countDown();
+        concurrent = rendezvous.await(5, TimeUnit.SECONDS);
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+}
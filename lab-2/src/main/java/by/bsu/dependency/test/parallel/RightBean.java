@@ -0,0 +1,22 @@
+package by.bsu.dependency.test.parallel;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+import java.util.concurrent.TimeUnit;
+
+@Bean
+public class RightBean {
+
+    private boolean concurrent = false;
+
+    @PostConstruct
+    void postConstruct() throws InterruptedException {
+        LeftBean.rendezvous.countDown();
+        concurrent = LeftBean.rendezvous.await(5, TimeUnit.SECONDS);
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+}
@@ -0,0 +1,13 @@
+package by.bsu.dependency.test.parallel;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.PostConstruct;
+
+@Bean
+public class SecondFailingBean {
+
+    @PostConstruct
+    void postConstruct() {
+        throw new IllegalStateException("Second bean failed");
+    }
+}
@@ -0,0 +1,28 @@
+package by.bsu.dependency.test.plugin;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.annotation.PostConstruct;
+import by.bsu.dependency.example.FirstBean;
+
+@Bean
+public class PluginBean {
+
+    @Inject
+    private FirstBean firstBean;
+
+    private boolean postConstructCalled = false;
+
+    @PostConstruct
+    void postConstruct() {
+        postConstructCalled = true;
+    }
+
+    public FirstBean getFirstBean() {
+        return firstBean;
+    }
+
+    public boolean isPostConstructCalled() {
+        return postConstructCalled;
+    }
+}
@@ -0,0 +1,24 @@
+package by.bsu.dependency.test.pool;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.BeanScope;
+import by.bsu.dependency.annotation.Reset;
+
+@Bean(name = "buffer", scope = BeanScope.POOLED, poolSize = 2)
+public class BufferBean {
+
+    private final StringBuilder content = new StringBuilder();
+
+    public void append(String text) {
+        content.append(text);
+    }
+
+    public String getContent() {
+        return content.toString();
+    }
+
+    @Reset
+    void reset() {
+        content.setLength(0);
+    }
+}
@@ -0,0 +1,29 @@
+package by.bsu.dependency.test.provider;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.BeanScope;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.annotation.PostConstruct;
+import by.bsu.dependency.example.FirstBean;
+
+@Bean(scope = BeanScope.PROTOTYPE)
+public class TicketBean {
+
+    @Inject
+    private FirstBean firstBean;
+
+    private boolean postConstructCalled = false;
+
+    @PostConstruct
+    void postConstruct() {
+        postConstructCalled = true;
+    }
+
+    public FirstBean getFirstBean() {
+        return firstBean;
+    }
+
+    public boolean isPostConstructCalled() {
+        return postConstructCalled;
+    }
+}
@@ -0,0 +1,28 @@
+package by.bsu.dependency.test.provider;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+import by.bsu.dependency.context.Provider;
+import by.bsu.dependency.example.FirstBean;
+
+@Bean
+public class TicketMachineBean {
+
+    private final Provider<FirstBean> firstBeanProvider;
+
+    @Inject
+    private Provider<TicketBean> tickets;
+
+    @Inject
+    public TicketMachineBean(Provider<FirstBean> firstBeanProvider) {
+        this.firstBeanProvider = firstBeanProvider;
+    }
+
+    public TicketBean issue() {
+        return tickets.get();
+    }
+
+    public Provider<FirstBean> getFirstBeanProvider() {
+        return firstBeanProvider;
+    }
+}
@@ -0,0 +1,33 @@
+package by.bsu.dependency.test.scheduled;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Scheduled;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Bean(name = "tickerBean")
+public class TickerBean {
+
+    private final AtomicInteger ticks = new AtomicInteger();
+    private final AtomicInteger flushes = new AtomicInteger();
+
+    @Scheduled(fixedRate = 10)
+    void tick() {
+        ticks.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelay = 5, initialDelay = 20)
+    void flush() {
+        if (flushes.incrementAndGet() == 1) {
+            throw new IllegalStateException("First flush fails");
+        }
+    }
+
+    public int getTicks() {
+        return ticks.get();
+    }
+
+    public int getFlushes() {
+        return flushes.get();
+    }
+}
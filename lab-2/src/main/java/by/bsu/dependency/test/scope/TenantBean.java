@@ -0,0 +1,8 @@
+package by.bsu.dependency.test.scope;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.BeanScope;
+
+@Bean(scope = BeanScope.CUSTOM, scopeName = "tenant")
+public class TenantBean {
+}
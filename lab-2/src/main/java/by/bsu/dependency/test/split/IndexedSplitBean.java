@@ -0,0 +1,10 @@
+package by.bsu.dependency.test.split;
+
+import by.bsu.dependency.annotation.Bean;
+
+/**
+ * Бин пакета, разбитого между основными и тестовыми классами: основные классы проиндексированы.
+ */
+@Bean
+public class IndexedSplitBean {
+}
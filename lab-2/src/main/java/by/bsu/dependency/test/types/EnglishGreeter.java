@@ -0,0 +1,12 @@
+package by.bsu.dependency.test.types;
+
+import by.bsu.dependency.annotation.Bean;
+
+@Bean
+public class EnglishGreeter implements Greeter {
+
+    @Override
+    public String greet() {
+        return "Hello";
+    }
+}
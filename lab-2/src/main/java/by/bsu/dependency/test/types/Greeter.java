@@ -0,0 +1,6 @@
+package by.bsu.dependency.test.types;
+
+public interface Greeter {
+
+    String greet();
+}
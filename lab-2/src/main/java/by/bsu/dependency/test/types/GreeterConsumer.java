@@ -0,0 +1,15 @@
+package by.bsu.dependency.test.types;
+
+import by.bsu.dependency.annotation.Bean;
+import by.bsu.dependency.annotation.Inject;
+
+@Bean
+public class GreeterConsumer {
+
+    @Inject
+    private Greeter greeter;
+
+    public Greeter getGreeter() {
+        return greeter;
+    }
+}
@@ -1,7 +1,15 @@
 package by.bsu.dependency.context;
 
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.example.OtherBean;
+import by.bsu.dependency.example.PrototypeBean;
+import by.bsu.dependency.test.split.IndexedSplitBean;
+import by.bsu.dependency.test.split.UnindexedSplitBean;
+import by.bsu.dependency.test.unindexed.UnindexedBean;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AutoScanApplicationContextTest {
@@ -22,4 +30,40 @@ public class AutoScanApplicationContextTest {
         assertTrue(applicationContext.containsBean("counter"));
         assertFalse(applicationContext.containsBean("main"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGeneratedIndex() {
+        var lookup = BeanIndex.load("by.bsu.dependency.example", getClass().getClassLoader());
+        var classes = BeanIndex.loadClasses(lookup.classNames(), getClass().getClassLoader());
+
+        assertTrue(lookup.unindexedRoots().isEmpty());
+        assertEquals(3, classes.size());
+        assertTrue(classes.containsAll(List.of(FirstBean.class, OtherBean.class, PrototypeBean.class)));
+    }
+
+    @Test
+    void testUnindexedPackageIsScanned() {
+        var lookup = BeanIndex.load("by.bsu.dependency.test.unindexed", getClass().getClassLoader());
+        assertTrue(lookup.classNames().isEmpty());
+        assertEquals(1, lookup.unindexedRoots().size());
+
+        var context = new AutoScanApplicationContext("by.bsu.dependency.test.unindexed");
+        context.start();
+
+        assertTrue(context.containsBean("unindexedBean"));
+        assertInstanceOf(UnindexedBean.class, context.getBean("unindexedBean"));
+    }
+
+    @Test
+    void testSplitPackageIsMerged() {
+        var lookup = BeanIndex.load("by.bsu.dependency.test.split", getClass().getClassLoader());
+        assertEquals(List.of(IndexedSplitBean.class.getName()), lookup.classNames());
+        assertEquals(1, lookup.unindexedRoots().size());
+
+        var context = new AutoScanApplicationContext("by.bsu.dependency.test.split");
+        context.start();
+
+        assertInstanceOf(IndexedSplitBean.class, context.getBean("indexedSplitBean"));
+        assertInstanceOf(UnindexedSplitBean.class, context.getBean("unindexedSplitBean"));
+    }
+}
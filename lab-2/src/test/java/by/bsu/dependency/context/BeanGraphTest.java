@@ -0,0 +1,98 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.exceptions.DependencyLoopException;
+import by.bsu.dependency.generator.BeanGraphGenerator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanGraphTest {
+
+    @Test
+    void testGeneratedGraph() throws Exception {
+        List<Class<?>> classes = BeanGraphGenerator.beans(500)
+                .fanOut(3)
+                .depth(5)
+                .scopes(0.2, 0.1)
+                .postConstructNanos(1_000)
+                .generate();
+
+        var applicationContext = new SimpleApplicationContext(classes.toArray(Class<?>[]::new));
+        applicationContext.start();
+
+        int prototypes = 0;
+        for (int i = 0; i < classes.size(); i++) {
+            String name = "bean" + i;
+            assertThat(applicationContext.containsBean(name)).isTrue();
+            if (applicationContext.isPrototype(name)) {
+                prototypes++;
+            }
+        }
+        assertThat(prototypes).isBetween(50, 150);
+
+        Object bean = applicationContext.getBean("bean499");
+        assertThat(bean.getClass().getDeclaredFields()).hasSize(3);
+        for (Field field : bean.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            assertThat(field.get(bean).getClass().getSimpleName())
+                    .matches(name -> Integer.parseInt(name.substring("Bean".length())) >= 300);
+        }
+    }
+
+    @Test
+    void testInjectedCycles() {
+        List<Class<?>> classes = BeanGraphGenerator.beans(100).depth(4).cycles(2).generate();
+
+        var exception = assertThrows(DependencyLoopException.class, () -> {
+            var applicationContext = new SimpleApplicationContext(classes.toArray(Class<?>[]::new));
+            applicationContext.start();
+        });
+        assertThat(exception.getMessage()).containsPattern("bean7[56]");
+    }
+
+    /**
+     * Время {@code start()} и прирост кучи на один бин. Запуск: {@code ./gradlew scaleTest}.
+     */
+    @Tag("scale")
+    @ParameterizedTest
+    @ValueSource(ints = {1_000, 10_000, 100_000})
+    void testStartScale(int beanCount) {
+        List<Class<?>> classes = BeanGraphGenerator.beans(beanCount)
+                .fanOut(4)
+                .depth(20)
+                .scopes(0.1, 0.1)
+                .generate();
+        Class<?>[] beanClasses = classes.toArray(Class<?>[]::new);
+
+        long heapBefore = usedHeap();
+        long startedAt = System.nanoTime();
+        var applicationContext = new SimpleApplicationContext(beanClasses);
+        applicationContext.start();
+        long startTime = System.nanoTime() - startedAt;
+        long heapAfter = usedHeap();
+
+        assertThat(applicationContext.getBean("bean" + (beanCount - 1))).isNotNull();
+        Reference.reachabilityFence(applicationContext);
+
+        System.out.printf("beans=%d start=%d ms heap=%d bytes/bean%n",
+                beanCount, startTime / 1_000_000, (heapAfter - heapBefore) / beanCount);
+    }
+
+    private static long usedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
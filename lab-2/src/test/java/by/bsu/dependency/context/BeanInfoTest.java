@@ -0,0 +1,61 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.example.OtherBean;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BeanInfoTest {
+
+    @Test
+    void testBeanInfoIsShared() {
+        BeanInfo beanInfo = BeanInfo.of(OtherBean.class);
+
+        assertSame(beanInfo, BeanInfo.of(OtherBean.class));
+        assertThat(beanInfo.getDependencyTypes()).containsExactly(FirstBean.class);
+
+        var first = new SimpleApplicationContext(FirstBean.class, OtherBean.class);
+        var second = new SimpleApplicationContext(FirstBean.class, OtherBean.class);
+        assertSame(first.beanDefinitions.get("otherBean"), second.beanDefinitions.get("otherBean"));
+    }
+
+    @Test
+    void testBeanInfoDoesNotPreventClassUnloading() throws Exception {
+        WeakReference<ClassLoader> loader = loadAndDescribe(FirstBean.class);
+
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(loader.get()).isNull();
+    }
+
+    private static WeakReference<ClassLoader> loadAndDescribe(Class<?> beanClass) throws Exception {
+        byte[] bytes;
+        try (InputStream input = beanClass.getResourceAsStream(beanClass.getSimpleName() + ".class")) {
+            bytes = input.readAllBytes();
+        }
+        ClassLoader loader = new ClassLoader(BeanInfoTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                if (!name.equals(beanClass.getName())) {
+                    return super.loadClass(name, resolve);
+                }
+                synchronized (getClassLoadingLock(name)) {
+                    Class<?> loaded = findLoadedClass(name);
+                    return loaded != null ? loaded : defineClass(name, bytes, 0, bytes.length);
+                }
+            }
+        };
+
+        Class<?> copy = loader.loadClass(beanClass.getName());
+        assertThat(copy).isNotSameAs(beanClass);
+        assertThat(BeanInfo.of(copy).name).isEqualTo("firstBean");
+        return new WeakReference<>(loader);
+    }
+}
@@ -0,0 +1,167 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.example.OtherBean;
+import by.bsu.dependency.exceptions.ApplicationContextNotStartedException;
+import by.bsu.dependency.exceptions.NoSuchBeanDefinitionException;
+import by.bsu.dependency.exceptions.NoUniqueBeanDefinitionException;
+import by.bsu.dependency.test.plugin.PluginBean;
+import by.bsu.dependency.test.plugin.ThreadPluginBean;
+import by.bsu.dependency.test.scope.ThreadBean;
+import by.bsu.dependency.test.types.EnglishGreeter;
+import by.bsu.dependency.test.types.Greeter;
+import by.bsu.dependency.test.types.GreeterConsumer;
+import by.bsu.dependency.test.types.RussianGreeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BeanRegistrationTest {
+
+    private SimpleApplicationContext applicationContext;
+
+    @BeforeEach
+    void init() {
+        applicationContext = new SimpleApplicationContext(FirstBean.class, OtherBean.class, EnglishGreeter.class);
+    }
+
+    @Test
+    void testRegisterNotStarted() {
+        assertThrows(
+                ApplicationContextNotStartedException.class,
+                () -> applicationContext.registerBean(PluginBean.class)
+        );
+    }
+
+    @Test
+    void testRegisterSingleton() {
+        applicationContext.start();
+        FirstBean firstBean = applicationContext.getBean(FirstBean.class);
+
+        applicationContext.registerBean(PluginBean.class);
+
+        PluginBean plugin = applicationContext.getBean(PluginBean.class);
+        assertThat(plugin.isPostConstructCalled()).isTrue();
+        assertSame(firstBean, plugin.getFirstBean());
+        assertSame(firstBean, applicationContext.getBean(FirstBean.class));
+        assertThat(applicationContext.containsBean("pluginBean")).isTrue();
+        assertThat(applicationContext.getBeansOfType(PluginBean.class)).containsOnlyKeys("pluginBean");
+    }
+
+    @Test
+    void testRegisterDuplicateAndMissingDependency() {
+        var apContext = new SimpleApplicationContext(EnglishGreeter.class);
+        apContext.start();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> apContext.registerBean(EnglishGreeter.class)
+        );
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                () -> apContext.registerBean(PluginBean.class)
+        );
+        assertThat(apContext.containsBean("pluginBean")).isFalse();
+    }
+
+    @Test
+    void testRegisterUpdatesTypeIndex() {
+        applicationContext.start();
+        applicationContext.registerBean(GreeterConsumer.class);
+        applicationContext.registerBean(RussianGreeter.class);
+
+        assertThat(applicationContext.getBean(GreeterConsumer.class).getGreeter()).isInstanceOf(EnglishGreeter.class);
+        assertThat(applicationContext.getBeansOfType(Greeter.class)).containsOnlyKeys("englishGreeter", "russianGreeter");
+        assertThrows(
+                NoUniqueBeanDefinitionException.class,
+                () -> applicationContext.getBean(Greeter.class)
+        );
+
+        applicationContext.removeBean("russianGreeter");
+        assertThat(applicationContext.getBean(Greeter.class)).isInstanceOf(EnglishGreeter.class);
+    }
+
+    @Test
+    void testRegisterScopedBean() {
+        var apContext = new SimpleApplicationContext(ThreadBean.class);
+        apContext.start();
+        ThreadBean threadBean = apContext.getBean(ThreadBean.class);
+
+        apContext.registerBean(ThreadPluginBean.class);
+
+        assertSame(apContext.getBean(ThreadPluginBean.class), apContext.getBean(ThreadPluginBean.class));
+        assertSame(threadBean, apContext.getBean(ThreadBean.class));
+    }
+
+    @Test
+    void testRemoveBean() {
+        applicationContext.start();
+
+        assertThrows(
+                IllegalStateException.class,
+                () -> applicationContext.removeBean("firstBean")
+        );
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                () -> applicationContext.removeBean("randomName")
+        );
+
+        BeanHandle<OtherBean> otherBean = applicationContext.getHandle(OtherBean.class);
+        BeanHandle<EnglishGreeter> greeter = applicationContext.getHandle(EnglishGreeter.class);
+        applicationContext.removeBean("otherBean");
+        applicationContext.removeBean("firstBean");
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                otherBean::get
+        );
+        assertThat(greeter.get()).isInstanceOf(EnglishGreeter.class);
+        assertThat(applicationContext.containsBean("otherBean")).isFalse();
+        assertThat(applicationContext.containsBean("firstBean")).isFalse();
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                () -> applicationContext.getBean(FirstBean.class)
+        );
+    }
+
+    @Test
+    void testConcurrentGetBeanDuringRegistration() throws Exception {
+        applicationContext.start();
+        FirstBean firstBean = applicationContext.getBean(FirstBean.class);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        assertSame(firstBean, applicationContext.getBean(FirstBean.class));
+                        if (applicationContext.containsBean("pluginBean")) {
+                            applicationContext.getBeansOfType(PluginBean.class);
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < 200; i++) {
+                applicationContext.registerBean(PluginBean.class);
+                applicationContext.removeBean("pluginBean");
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.example.OtherBean;
+import by.bsu.dependency.exceptions.ApplicationContextNotStartedException;
+import by.bsu.dependency.exceptions.NoSuchBeanDefinitionException;
+import by.bsu.dependency.test.hierarchy.TenantService;
+import by.bsu.dependency.test.scope.RequestBean;
+import by.bsu.dependency.test.types.EnglishGreeter;
+import by.bsu.dependency.test.types.Greeter;
+import by.bsu.dependency.test.types.RussianGreeter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChildApplicationContextTest {
+
+    private SimpleApplicationContext parent;
+
+    @BeforeEach
+    void init() {
+        parent = new SimpleApplicationContext(FirstBean.class, EnglishGreeter.class, RequestBean.class);
+        parent.start();
+    }
+
+    @Test
+    void testParentNotStarted() {
+        var notStarted = new SimpleApplicationContext(FirstBean.class);
+        assertThrows(
+                ApplicationContextNotStartedException.class,
+                () -> new SimpleApplicationContext(notStarted, TenantService.class)
+        );
+    }
+
+    @Test
+    void testChildSharesParentSingletons() {
+        var child = new SimpleApplicationContext(parent, TenantService.class);
+        child.start();
+
+        TenantService service = child.getBean(TenantService.class);
+        assertSame(parent.getBean(FirstBean.class), service.getFirstBean());
+        assertSame(parent.getBean(Greeter.class), service.getGreeter());
+        assertSame(parent.getBean("firstBean"), child.getBean("firstBean"));
+        assertThat(child.containsBean("firstBean")).isTrue();
+        assertThat(child.isSingleton("firstBean")).isTrue();
+        assertThat(parent.containsBean("tenantService")).isFalse();
+        assertThat(child.getParent()).containsSame(parent);
+    }
+
+    @Test
+    void testChildrenAreIsolated() {
+        var first = new SimpleApplicationContext(parent, TenantService.class);
+        var second = new SimpleApplicationContext(parent, TenantService.class);
+        first.start();
+        second.start();
+
+        assertNotSame(first.getBean(TenantService.class), second.getBean(TenantService.class));
+        assertSame(first.getBean(TenantService.class).getFirstBean(), second.getBean(TenantService.class).getFirstBean());
+    }
+
+    @Test
+    void testChildOverridesParentType() {
+        var child = new SimpleApplicationContext(parent, TenantService.class, RussianGreeter.class);
+        child.start();
+
+        assertThat(child.getBean(TenantService.class).getGreeter()).isInstanceOf(RussianGreeter.class);
+        assertThat(child.getBean(Greeter.class)).isInstanceOf(RussianGreeter.class);
+        assertThat(child.getBeansOfType(Greeter.class)).containsOnlyKeys("englishGreeter", "russianGreeter");
+        assertThat(parent.getBeansOfType(Greeter.class)).containsOnlyKeys("englishGreeter");
+    }
+
+    @Test
+    void testGrandchildResolvesGrandparentTypes() {
+        var child = new SimpleApplicationContext(parent, OtherBean.class);
+        child.start();
+        var grandchild = new SimpleApplicationContext(child, TenantService.class);
+        grandchild.start();
+
+        TenantService service = grandchild.getBean(TenantService.class);
+        assertSame(parent.getBean(Greeter.class), service.getGreeter());
+        assertSame(parent.getBean(FirstBean.class), service.getFirstBean());
+        assertSame(parent.getBean(Greeter.class), grandchild.getBean(Greeter.class));
+    }
+
+    @Test
+    void testChildMissingDependency() {
+        var child = new SimpleApplicationContext(parent, OtherBean.class, TenantService.class);
+        child.start();
+        assertThat(child.containsBean("otherBean")).isTrue();
+
+        var empty = new SimpleApplicationContext(FirstBean.class);
+        empty.start();
+        var orphan = new SimpleApplicationContext(empty, TenantService.class);
+        assertThrows(NoSuchBeanDefinitionException.class, orphan::start);
+    }
+
+    @Test
+    void testChildRequestScopeCoversParent() {
+        var child = new SimpleApplicationContext(parent, TenantService.class);
+        child.start();
+
+        child.runInRequest(() -> assertSame(child.getBean(RequestBean.class), parent.getBean(RequestBean.class)));
+    }
+}
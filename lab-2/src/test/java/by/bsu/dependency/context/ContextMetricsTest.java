@@ -0,0 +1,160 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.example.OtherBean;
+import by.bsu.dependency.generator.BeanGraphGenerator;
+import by.bsu.dependency.test.async.SlowWarmupBean;
+import by.bsu.dependency.test.async.SlowWarmupConsumerBean;
+import by.bsu.dependency.test.lazy.LazyBean;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContextMetricsTest {
+
+    @Test
+    void testMetricsDisabledByDefault() {
+        var applicationContext = new SimpleApplicationContext(FirstBean.class);
+        applicationContext.start();
+
+        assertThat(applicationContext.getMetrics()).isEmpty();
+    }
+
+    @Test
+    void testBeanMetrics() {
+        var applicationContext = new SimpleApplicationContext(FirstBean.class, OtherBean.class, LazyBean.class);
+        applicationContext.enableMetrics();
+        applicationContext.start();
+
+        for (int i = 0; i < 3; i++) {
+            applicationContext.getBean("firstBean");
+        }
+        applicationContext.getBean(OtherBean.class);
+
+        ContextMetrics metrics = applicationContext.getMetrics().orElseThrow();
+        BeanMetrics first = metrics.getBeanMetrics("firstBean").orElseThrow();
+        assertThat(first.getCreations()).isEqualTo(1);
+        assertThat(first.getRequests()).isEqualTo(3);
+        assertThat(first.getPostConstructTime()).isPositive();
+        assertThat(metrics.getBeanMetrics("otherBean").orElseThrow().getRequests()).isEqualTo(1);
+        assertThat(metrics.getStartTime()).isPositive();
+
+        assertThat(metrics.getDeferredCreationTime()).isZero();
+        applicationContext.getBean("lazyBean");
+        assertThat(metrics.getBeanMetrics("lazyBean").orElseThrow().getCreations()).isEqualTo(1);
+        assertThat(metrics.getDeferredCreationTime()).isPositive();
+    }
+
+    @Test
+    void testDeferredPostConstructTime() {
+        var applicationContext = new SimpleApplicationContext(SlowWarmupBean.class, SlowWarmupConsumerBean.class);
+        applicationContext.enableMetrics();
+        applicationContext.start();
+        long started = System.nanoTime();
+
+        ContextMetrics metrics = applicationContext.getMetrics().orElseThrow();
+        Duration warmup = metrics.getBeanMetrics("slowWarmupBean").orElseThrow().getPostConstructTime();
+        Duration consumer = metrics.getBeanMetrics("slowWarmupConsumerBean").orElseThrow().getPostConstructTime();
+        assertThat(warmup).isGreaterThanOrEqualTo(Duration.ofMillis(SlowWarmupBean.WARMUP_MILLIS));
+        // хук потребителя запускается только после прогрева зависимости, поэтому без ожидания зависимости его
+        // время укладывается между концом прогрева и концом старта
+        assertThat(consumer)
+                .isGreaterThanOrEqualTo(Duration.ofMillis(SlowWarmupConsumerBean.WARMUP_MILLIS))
+                .isLessThanOrEqualTo(Duration.ofNanos(started - SlowWarmupBean.warmedUpAt));
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("context", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("by.bsu.dependency.BeanCreation");
+            recording.enable("by.bsu.dependency.ContextStart");
+            recording.start();
+
+            var applicationContext = new SimpleApplicationContext(FirstBean.class, OtherBean.class);
+            applicationContext.enableMetrics();
+            applicationContext.start();
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("by.bsu.dependency.BeanCreation"))
+                .extracting(event -> event.getString("beanName"))
+                .containsExactlyInAnyOrder("firstBean", "otherBean");
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("by.bsu.dependency.ContextStart"))
+                .extracting(event -> event.getInt("beanCount"))
+                .containsExactly(2);
+    }
+
+    @Test
+    void testStartupProfile() {
+        // при этом seed граф - две непересекающиеся цепочки из трех бинов, и любой максимальный путь в нем
+        // проходит все три слоя, как бы ни колебалось измеренное время
+        List<Class<?>> classes = BeanGraphGenerator.beans(6)
+                .fanOut(1)
+                .depth(3)
+                .seed(40)
+                .postConstructNanos(2_000_000)
+                .generate();
+        var applicationContext = new SimpleApplicationContext(classes.toArray(Class<?>[]::new));
+        applicationContext.enableMetrics();
+        applicationContext.start();
+
+        StartupProfile profile = applicationContext.getMetrics().orElseThrow().getStartupProfile();
+        assertThat(profile.getCriticalPath()).hasSize(3);
+        assertThat(profile.getLength()).isGreaterThanOrEqualTo(Duration.ofMillis(6));
+        assertThat(profile.getBeans()).hasSize(6).allSatisfy(bean -> {
+            assertThat(bean.slack().isNegative()).isFalse();
+            assertThat(bean.critical()).isEqualTo(profile.getCriticalPath().contains(bean.name()));
+        });
+        for (String name : profile.getCriticalPath()) {
+            assertThat(profile.getBeanProfile(name).orElseThrow().slack()).isZero();
+        }
+
+        String last = profile.getCriticalPath().get(2);
+        String previous = profile.getCriticalPath().get(1);
+        assertThat(profile.toDot())
+                .startsWith("digraph startup {")
+                .contains("\"" + last + "\" -> \"" + previous + "\" [color=red, penwidth=2];");
+        assertThat(profile.toJson())
+                .startsWith("{\"length\":" + profile.getLength().toNanos() + ",\"criticalPath\":[")
+                .contains("{\"name\":\"" + last + "\",\"scope\":\"SINGLETON\"");
+    }
+
+    @Test
+    void testStartupProfileWithAsyncPostConstruct() {
+        var applicationContext = new SimpleApplicationContext(FirstBean.class, SlowWarmupBean.class,
+                SlowWarmupConsumerBean.class);
+        applicationContext.enableMetrics();
+        applicationContext.start();
+
+        ContextMetrics metrics = applicationContext.getMetrics().orElseThrow();
+        StartupProfile profile = metrics.getStartupProfile();
+        assertThat(profile.getCriticalPath()).containsExactly("slowWarmupBean", "slowWarmupConsumerBean");
+        assertThat(profile.getLength())
+                .isGreaterThanOrEqualTo(Duration.ofMillis(SlowWarmupBean.WARMUP_MILLIS
+                        + SlowWarmupConsumerBean.WARMUP_MILLIS))
+                .isLessThanOrEqualTo(metrics.getStartTime());
+
+        BeanProfile warmup = profile.getBeanProfile("slowWarmupBean").orElseThrow();
+        BeanProfile consumer = profile.getBeanProfile("slowWarmupConsumerBean").orElseThrow();
+        assertThat(warmup.cost()).isGreaterThanOrEqualTo(Duration.ofMillis(SlowWarmupBean.WARMUP_MILLIS));
+        assertThat(consumer.start()).isLessThan(warmup.finish());
+        assertThat(consumer.finish()).isEqualTo(profile.getLength());
+        assertThat(profile.getBeanProfile("firstBean").orElseThrow().slack()).isPositive();
+    }
+}
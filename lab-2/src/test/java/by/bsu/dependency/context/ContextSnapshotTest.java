@@ -0,0 +1,203 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.example.OtherBean;
+import by.bsu.dependency.test.constructor.ConstructorBean;
+import by.bsu.dependency.test.split.IndexedSplitBean;
+import by.bsu.dependency.test.types.EnglishGreeter;
+import by.bsu.dependency.test.types.Greeter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ContextSnapshotTest {
+
+    private static final Class<?>[] BEAN_CLASSES = {
+            FirstBean.class, OtherBean.class, ConstructorBean.class, EnglishGreeter.class
+    };
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testSnapshotIsWrittenAndReused() {
+        Path snapshot = directory.resolve("context.snapshot");
+
+        new SimpleApplicationContext(snapshot, BEAN_CLASSES);
+        assertThat(snapshot).isRegularFile();
+        assertThat(read(snapshot, BEAN_CLASSES)).isTrue();
+
+        var applicationContext = new SimpleApplicationContext(snapshot, BEAN_CLASSES);
+        applicationContext.start();
+
+        ConstructorBean bean = applicationContext.getBean(ConstructorBean.class);
+        assertSame(applicationContext.getBean(FirstBean.class), bean.getFirstBean());
+        assertSame(applicationContext.getBean(Greeter.class), bean.getGreeter());
+        assertThat(applicationContext.getBean(FirstBean.class).isPostConstructCalled()).isTrue();
+    }
+
+    @Test
+    void testUnwritableSnapshotIsSkipped() throws Exception {
+        Path file = Files.createFile(directory.resolve("file"));
+        Path snapshot = file.resolve("context.snapshot");
+
+        var applicationContext = new SimpleApplicationContext(snapshot, BEAN_CLASSES);
+        applicationContext.start();
+
+        assertThat(Files.exists(snapshot)).isFalse();
+        assertThat(applicationContext.getBean(ConstructorBean.class).getFirstBean()).isNotNull();
+    }
+
+    @Test
+    void testSnapshotSharesCachedDefinitions() {
+        Path snapshot = directory.resolve("context.snapshot");
+        new SimpleApplicationContext(snapshot, BEAN_CLASSES);
+
+        Set<String> classNames = new HashSet<>();
+        for (Class<?> beanClass : BEAN_CLASSES) {
+            classNames.add(beanClass.getName());
+        }
+        ContextSnapshot restored = ContextSnapshot.read(snapshot, classNames, getClass().getClassLoader())
+                .orElseThrow();
+        for (Class<?> beanClass : BEAN_CLASSES) {
+            BeanInfo beanInfo = BeanInfo.of(beanClass);
+            assertSame(beanInfo, restored.definitions.get(beanInfo.name));
+        }
+    }
+
+    @Test
+    void testSnapshotWithOtherClassesIsIgnored() {
+        Path snapshot = directory.resolve("context.snapshot");
+        new SimpleApplicationContext(snapshot, BEAN_CLASSES);
+
+        assertThat(read(snapshot, FirstBean.class)).isFalse();
+
+        var applicationContext = new SimpleApplicationContext(snapshot, FirstBean.class);
+        applicationContext.start();
+        assertThat(applicationContext.containsBean("otherBean")).isFalse();
+        assertThat(read(snapshot, FirstBean.class)).isTrue();
+    }
+
+    @Test
+    void testSnapshotWithChangedBytecodeIsIgnored() throws Exception {
+        Path snapshot = directory.resolve("context.snapshot");
+        new SimpleApplicationContext(snapshot, FirstBean.class);
+
+        byte[] bytes = Files.readAllBytes(snapshot);
+        int hashOffset = 4 + 4 + 4 + 2 + FirstBean.class.getName().length();
+        bytes[hashOffset + 7] ^= 1;
+        Files.write(snapshot, bytes);
+
+        assertThat(read(snapshot, FirstBean.class)).isFalse();
+    }
+
+    @Test
+    void testAutoScanSnapshot() {
+        Path snapshot = directory.resolve("autoscan.snapshot");
+        new AutoScanApplicationContext("by.bsu.dependency.example", snapshot);
+
+        var applicationContext = new AutoScanApplicationContext("by.bsu.dependency.example", snapshot);
+        applicationContext.start();
+
+        assertThat(applicationContext.containsBean("firstBean")).isTrue();
+        assertThat(applicationContext.containsBean("counter")).isTrue();
+    }
+
+    @Test
+    void testAutoScanSnapshotWithAddedBean() {
+        Path snapshot = directory.resolve("split.snapshot");
+        new SimpleApplicationContext(snapshot, IndexedSplitBean.class);
+
+        var applicationContext = new AutoScanApplicationContext("by.bsu.dependency.test.split", snapshot);
+        applicationContext.start();
+
+        assertThat(applicationContext.containsBean("indexedSplitBean")).isTrue();
+        assertThat(applicationContext.containsBean("unindexedSplitBean")).isTrue();
+    }
+
+    @Test
+    void testBytecodeHashCoversInterfaces() throws Exception {
+        String greeter = Greeter.class.getName().replace('.', '/') + ".class";
+        // интерфейс "изменился", а байткод самого бина нет
+        Class<?> changed = new IsolatedLoader(greeter).loadClass(EnglishGreeter.class.getName());
+
+        assertThat(changed).isNotSameAs(EnglishGreeter.class);
+        assertThat(ContextSnapshot.bytecodeHash(changed))
+                .isNotNull()
+                .isNotEqualTo(ContextSnapshot.bytecodeHash(EnglishGreeter.class));
+    }
+
+    @Test
+    void testRejectedSnapshotIsNotCached() throws Exception {
+        Path snapshot = directory.resolve("context.snapshot");
+        new SimpleApplicationContext(snapshot, EnglishGreeter.class);
+
+        ClassLoader loader = new IsolatedLoader(null);
+        Class<?> isolated = loader.loadClass(EnglishGreeter.class.getName());
+        Set<String> classNames = Set.of(EnglishGreeter.class.getName(), FirstBean.class.getName());
+        assertThat(ContextSnapshot.read(snapshot, classNames, loader)).isEmpty();
+
+        BeanInfo parsed = new BeanInfo(isolated);
+        assertSame(parsed, BeanInfo.of(isolated, parsed));
+    }
+
+    private static boolean read(Path snapshot, Class<?>... beanClasses) {
+        Set<String> classNames = new HashSet<>();
+        for (Class<?> beanClass : beanClasses) {
+            classNames.add(beanClass.getName());
+        }
+        return ContextSnapshot.read(snapshot, classNames, ContextSnapshotTest.class.getClassLoader()).isPresent();
+    }
+
+    /**
+     * Загружает классы пакета {@code by.bsu.dependency.test.types} заново, чтобы они не были разобраны ни одним
+     * контекстом. Файл {@code patched} отдается с лишним байтом в конце.
+     */
+    private static final class IsolatedLoader extends ClassLoader {
+        private final String patched;
+
+        private IsolatedLoader(String patched) {
+            super(ContextSnapshotTest.class.getClassLoader());
+            this.patched = patched;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(Greeter.class.getPackageName() + ".")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try (InputStream stream = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        byte[] bytes = stream.readAllBytes();
+                        loaded = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                return loaded;
+            }
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            InputStream stream = super.getResourceAsStream(name);
+            if (!name.equals(patched)) {
+                return stream;
+            }
+            return new SequenceInputStream(stream, new ByteArrayInputStream(new byte[]{0}));
+        }
+    }
+}
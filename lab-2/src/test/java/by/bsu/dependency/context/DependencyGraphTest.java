@@ -0,0 +1,77 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.exceptions.DependencyLoopException;
+import by.bsu.dependency.exceptions.NoSuchBeanDefinitionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DependencyGraphTest {
+
+    @Test
+    void testOrderAndLevels() {
+        var order = DependencyGraph.build(Map.of(
+                "a", List.of("b", "c"),
+                "b", List.of("c"),
+                "c", List.of(),
+                "d", List.of()
+        )).sort();
+
+        assertThat(order.names()).containsExactly("c", "d", "b", "a");
+        assertThat(order.levels()).containsExactly(0, 0, 1, 2);
+    }
+
+    @Test
+    void testCycleInSecondComponent() {
+        var graph = DependencyGraph.build(Map.of(
+                "a", List.of(),
+                "x", List.of("y"),
+                "y", List.of("z"),
+                "z", List.of("x")
+        ));
+
+        var exception = assertThrows(DependencyLoopException.class, graph::sort);
+        assertThat(exception.getMessage()).contains("x -> y -> z -> x");
+    }
+
+    @Test
+    void testMissingDependency() {
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                () -> DependencyGraph.build(Map.of("a", List.of("b")))
+        );
+    }
+
+    @Test
+    void testLongChain() {
+        int size = 200_000;
+        Map<String, List<String>> dependencies = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            dependencies.put("bean" + i, i == 0 ? List.of() : List.of("bean" + (i - 1)));
+        }
+
+        var order = DependencyGraph.build(dependencies).sort();
+
+        assertThat(order.names()).hasSize(size);
+        assertThat(order.names().get(size - 1)).isEqualTo("bean" + (size - 1));
+        assertThat(order.levels()[size - 1]).isEqualTo(size - 1);
+    }
+
+    @Test
+    void testLongCycle() {
+        int size = 200_000;
+        Map<String, List<String>> dependencies = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            dependencies.put("bean" + i, List.of("bean" + ((i + 1) % size)));
+        }
+
+        var graph = DependencyGraph.build(dependencies);
+
+        assertThrows(DependencyLoopException.class, graph::sort);
+    }
+}
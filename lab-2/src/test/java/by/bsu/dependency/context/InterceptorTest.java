@@ -0,0 +1,173 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.example.FirstBean;
+import by.bsu.dependency.exceptions.BeanNotOfRequiredTypeException;
+import by.bsu.dependency.test.async.QuoteBean;
+import by.bsu.dependency.test.async.QuoteService;
+import by.bsu.dependency.test.async.ReportBean;
+import by.bsu.dependency.test.async.ReportService;
+import by.bsu.dependency.test.cache.Calculator;
+import by.bsu.dependency.test.cache.CalculatorBean;
+import by.bsu.dependency.test.intercept.ConcreteGreeterClientBean;
+import by.bsu.dependency.test.intercept.Greeter;
+import by.bsu.dependency.test.intercept.GreeterBean;
+import by.bsu.dependency.test.intercept.GreeterClientBean;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InterceptorTest {
+
+    @Test
+    void testInterceptedBean() {
+        var applicationContext = new SimpleApplicationContext(GreeterBean.class, GreeterClientBean.class);
+        applicationContext.start();
+
+        Greeter greeter = applicationContext.getBean(Greeter.class);
+        assertThat(Proxy.isProxyClass(greeter.getClass())).isTrue();
+        assertSame(greeter, applicationContext.getBean("greeterBean"));
+        assertThat(greeter.greet("world")).isEqualTo("HELLO, WORLD");
+        assertThat(greeter.flaky()).isEqualTo(3);
+        assertThat(applicationContext.getBean(GreeterClientBean.class).greetEveryone()).isEqualTo("HELLO, EVERYONE");
+    }
+
+    @Test
+    void testBeanWithoutInterceptorsIsNotWrapped() {
+        var applicationContext = new SimpleApplicationContext(FirstBean.class);
+        applicationContext.start();
+
+        assertSame(FirstBean.class, applicationContext.getBean("firstBean").getClass());
+    }
+
+    @Test
+    void testProxyClassIsShared() {
+        var first = new SimpleApplicationContext(GreeterBean.class);
+        var second = new SimpleApplicationContext(GreeterBean.class);
+        first.start();
+        second.start();
+
+        assertSame(first.getBean("greeterBean").getClass(), second.getBean("greeterBean").getClass());
+    }
+
+    @Test
+    void testInjectionByClass() {
+        var applicationContext = new SimpleApplicationContext(GreeterBean.class, ConcreteGreeterClientBean.class);
+
+        var exception = assertThrows(RuntimeException.class, applicationContext::start);
+        assertThat(exception.getMessage()).contains("greeterBean", "concreteGreeterClientBean");
+    }
+
+    @Test
+    void testLookupByClass() {
+        var applicationContext = new SimpleApplicationContext(GreeterBean.class);
+        applicationContext.start();
+
+        var exception = assertThrows(BeanNotOfRequiredTypeException.class,
+                () -> applicationContext.getBean(GreeterBean.class));
+        assertThat(exception.getMessage()).contains("greeterBean", Greeter.class.getName());
+        assertThrows(BeanNotOfRequiredTypeException.class, () -> applicationContext.getHandle(GreeterBean.class));
+        assertThrows(BeanNotOfRequiredTypeException.class,
+                () -> applicationContext.getHandle("greeterBean", GreeterBean.class));
+        assertThrows(BeanNotOfRequiredTypeException.class, () -> applicationContext.getBeansOfType(GreeterBean.class));
+
+        assertThat(applicationContext.getHandle(Greeter.class).get().greet("world")).isEqualTo("HELLO, WORLD");
+        assertThat(applicationContext.getBeansOfType(Greeter.class)).containsOnlyKeys("greeterBean");
+    }
+
+    @Test
+    void testCacheableMethod() {
+        var applicationContext = new SimpleApplicationContext(CalculatorBean.class);
+        applicationContext.start();
+        Calculator calculator = applicationContext.getBean(Calculator.class);
+
+        assertThat(calculator.square(3)).isEqualTo(9);
+        assertThat(calculator.square(3)).isEqualTo(9);
+        assertThat(calculator.getCalls()).isEqualTo(1);
+
+        calculator.square(4);
+        calculator.square(5);
+        assertThat(calculator.getCalls()).isEqualTo(3);
+        assertThat(applicationContext.getCacheStats("calculatorBean"))
+                .containsEntry("square(int)", new CacheStats(1, 3, 1, 2))
+                .containsEntry("clock(String)", new CacheStats(0, 0, 0, 0));
+    }
+
+    @Test
+    void testCacheableTtl() throws InterruptedException {
+        var applicationContext = new SimpleApplicationContext(CalculatorBean.class);
+        applicationContext.start();
+        Calculator calculator = applicationContext.getBean(Calculator.class);
+
+        String first = calculator.clock("UTC");
+        assertThat(calculator.clock("UTC")).isEqualTo(first);
+        Thread.sleep(100);
+        assertThat(calculator.clock("UTC")).isNotEqualTo(first);
+        assertThat(applicationContext.getCacheStats("calculatorBean").get("clock(String)"))
+                .isEqualTo(new CacheStats(1, 2, 1, 1));
+    }
+
+    @Test
+    void testAsyncMethod() throws Exception {
+        var applicationContext = new SimpleApplicationContext(ReportBean.class);
+        applicationContext.setAsyncConcurrency(2);
+        applicationContext.start();
+        ReportService reportService = applicationContext.getBean(ReportService.class);
+
+        assertThat(reportService.render("report").get()).startsWith("report from async-");
+        assertThat(reportService.currentThread()).isEqualTo(Thread.currentThread().getName());
+        assertThat(applicationContext.getAsyncStats().maxConcurrency()).isEqualTo(2);
+    }
+
+    @Test
+    void testAsyncQueueDepth() throws Exception {
+        var applicationContext = new SimpleApplicationContext(ReportBean.class);
+        applicationContext.setAsyncConcurrency(1);
+        applicationContext.start();
+        ReportService reportService = applicationContext.getBean(ReportService.class);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        List<CompletableFuture<Void>> calls = List.of(
+                reportService.await(latch), reportService.await(latch), reportService.await(latch));
+        assertThat(applicationContext.getAsyncStats().queued()).isEqualTo(2);
+
+        latch.countDown();
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get();
+        AsyncStats stats = applicationContext.getAsyncStats();
+        assertThat(stats.maxQueued()).isEqualTo(2);
+        assertThat(stats.queued()).isZero();
+    }
+
+    @Test
+    void testCacheableAsyncFailureIsNotCached() throws Exception {
+        var applicationContext = new SimpleApplicationContext(QuoteBean.class);
+        applicationContext.start();
+        QuoteService quoteService = applicationContext.getBean(QuoteService.class);
+
+        var exception = assertThrows(ExecutionException.class, () -> quoteService.quote("BSU").get());
+        assertThat(exception.getCause()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(quoteService.quote("BSU").get()).isEqualTo("BSU 100");
+        assertThat(quoteService.quote("BSU").get()).isEqualTo("BSU 100");
+        assertThat(quoteService.getCalls()).isEqualTo(2);
+    }
+
+    @Test
+    void testAsyncAfterClose() {
+        var applicationContext = new SimpleApplicationContext(ReportBean.class);
+        applicationContext.start();
+        ReportService reportService = applicationContext.getBean(ReportService.class);
+        applicationContext.close();
+
+        var exception = assertThrows(ExecutionException.class, () -> reportService.render("report").get());
+        assertThat(exception.getCause()).isInstanceOf(RejectedExecutionException.class);
+    }
+}
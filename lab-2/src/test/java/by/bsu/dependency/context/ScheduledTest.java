@@ -0,0 +1,75 @@
+package by.bsu.dependency.context;
+
+import by.bsu.dependency.test.scheduled.TickerBean;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduledTest {
+
+    @Test
+    void testTimingWheelNeverFiresEarly() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel");
+        int count = 10_000;
+        CountDownLatch fired = new CountDownLatch(count);
+        AtomicInteger early = new AtomicInteger();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < count; i++) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(random.nextInt(300));
+            wheel.schedule(deadline, () -> {
+                if (System.nanoTime() < deadline) {
+                    early.incrementAndGet();
+                }
+                fired.countDown();
+            });
+        }
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(early).hasValue(0);
+    }
+
+    @Test
+    void testTimingWheelCancel() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel");
+        AtomicBoolean cancelledFired = new AtomicBoolean();
+        CountDownLatch fired = new CountDownLatch(1);
+
+        wheel.schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20), () -> cancelledFired.set(true))
+                .cancel();
+        wheel.schedule(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100), fired::countDown);
+
+        assertThat(fired.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(cancelledFired).isFalse();
+    }
+
+    @Test
+    void testScheduledMethods() throws InterruptedException {
+        var applicationContext = new SimpleApplicationContext(TickerBean.class);
+        applicationContext.start();
+        TickerBean tickerBean = applicationContext.getBean(TickerBean.class);
+
+        awaitAtLeast(3, tickerBean::getTicks);
+        awaitAtLeast(3, tickerBean::getFlushes);
+
+        applicationContext.close();
+        Thread.sleep(50);
+        int ticks = tickerBean.getTicks();
+        Thread.sleep(100);
+        assertThat(tickerBean.getTicks()).isEqualTo(ticks);
+    }
+
+    private static void awaitAtLeast(int expected, IntSupplier value) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.getAsInt() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(value.getAsInt()).isGreaterThanOrEqualTo(expected);
+    }
+}
@@ -1,11 +1,27 @@
 package by.bsu.dependency.context;
 
 import by.bsu.dependency.example.*;
+import by.bsu.dependency.test.async.*;
+import by.bsu.dependency.test.constructor.*;
 import by.bsu.dependency.exceptions.*;
+import by.bsu.dependency.test.lazy.*;
 import by.bsu.dependency.test.loop.*;
+import by.bsu.dependency.test.parallel.*;
+import by.bsu.dependency.test.pool.*;
+import by.bsu.dependency.test.provider.*;
+import by.bsu.dependency.test.scope.*;
+import by.bsu.dependency.test.types.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -126,6 +142,216 @@ class SimpleApplicationContextTest {
         assertEquals(PrototypeBean.counter, 200);
     }
 
+    @Test
+    void testParallelStart() {
+        LeftBean.rendezvous = new CountDownLatch(2);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            var apContext = new SimpleApplicationContext(FirstBean.class, OtherBean.class, EnglishGreeter.class,
+                    LeftBean.class, RightBean.class);
+            apContext.setParallelStart(pool);
+            apContext.start();
+
+            assertThat(apContext.getBean(LeftBean.class).isConcurrent()).isTrue();
+            assertThat(apContext.getBean(RightBean.class).isConcurrent()).isTrue();
+            assertThat(apContext.getBean(FirstBean.class).isPostConstructCalled()).isTrue();
+            assertThat(apContext.getBean("otherBean")).isInstanceOf(OtherBean.class);
+            assertThat(apContext.getBean("englishGreeter")).isInstanceOf(EnglishGreeter.class);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testParallelStartFailureOrder() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int i = 0; i < 10; i++) {
+                var apContext = new SimpleApplicationContext(FirstBean.class, FirstFailingBean.class,
+                        SecondFailingBean.class);
+                apContext.setParallelStart(pool);
+
+                var exception = assertThrows(RuntimeException.class, apContext::start);
+                assertThat(exception).rootCause().hasMessage("First bean failed");
+                assertThat(exception.getSuppressed()).singleElement()
+                        .satisfies(suppressed -> assertThat(suppressed).rootCause().hasMessage("Second bean failed"));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testConcurrentGetBean() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?> starter = executor.submit(applicationContext::start);
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    while (true) {
+                        try {
+                            return applicationContext.getBean("firstBean");
+                        } catch (ApplicationContextNotStartedException e) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            starter.get();
+
+            Object expected = applicationContext.getBean("firstBean");
+            for (Future<Object> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testLazySingleton() throws Exception {
+        LazyBean.created.set(0);
+        var apContext = new SimpleApplicationContext(LazyBean.class, LazyConsumerBean.class);
+        apContext.start();
+        assertEquals(0, LazyBean.created.get());
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> apContext.getBean("lazyConsumerBean")));
+            }
+            Object expected = apContext.getBean("lazyConsumerBean");
+            for (Future<Object> result : results) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, LazyBean.created.get());
+        assertSame(apContext.getBean(LazyBean.class), apContext.getBean(LazyConsumerBean.class).getLazyBean());
+    }
+
+    @Test
+    void testGetBeanByInterface() {
+        var apContext = new SimpleApplicationContext(EnglishGreeter.class, GreeterConsumer.class);
+        apContext.start();
+
+        Greeter greeter = apContext.getBean(Greeter.class);
+        assertThat(greeter).isInstanceOf(EnglishGreeter.class);
+        assertSame(greeter, apContext.getBean(GreeterConsumer.class).getGreeter());
+    }
+
+    @Test
+    void testGetBeansOfType() {
+        var apContext = new SimpleApplicationContext(EnglishGreeter.class, RussianGreeter.class);
+        apContext.start();
+
+        assertThat(apContext.getBeansOfType(Greeter.class)).containsOnlyKeys("englishGreeter", "russianGreeter");
+        assertThat(apContext.getBeansOfType(FirstBean.class)).isEmpty();
+        assertThat(apContext.getBean(RussianGreeter.class).greet()).isEqualTo("Привет");
+        assertThrows(
+                NoUniqueBeanDefinitionException.class,
+                () -> apContext.getBean(Greeter.class)
+        );
+    }
+
+    @Test
+    void testPooledBean() {
+        var apContext = new SimpleApplicationContext(BufferBean.class);
+        apContext.start();
+
+        assertFalse(apContext.isPrototype("buffer"));
+        assertFalse(apContext.isSingleton("buffer"));
+
+        BufferBean first = (BufferBean) apContext.borrowBean("buffer");
+        first.append("data");
+        apContext.returnBean("buffer", first);
+
+        BufferBean second = (BufferBean) apContext.borrowBean("buffer");
+        assertSame(first, second);
+        assertEquals("", second.getContent());
+
+        PoolStats stats = apContext.getPoolStats("buffer");
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> apContext.returnBean("buffer", new Object())
+        );
+    }
+
+    @Test
+    void testThreadScope() throws Exception {
+        var apContext = new SimpleApplicationContext(ThreadBean.class);
+        apContext.start();
+
+        Object bean = apContext.getBean("threadBean");
+        assertSame(bean, apContext.getBean(ThreadBean.class));
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertNotSame(bean, executor.submit(() -> apContext.getBean("threadBean")).get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testRequestScope() throws Exception {
+        var apContext = new SimpleApplicationContext(RequestBean.class);
+        apContext.start();
+
+        List<Object> first = apContext.callInRequest(
+                () -> List.of(apContext.getBean("requestBean"), apContext.getBean("requestBean"))
+        );
+        Object second = apContext.callInRequest(() -> apContext.getBean("requestBean"));
+
+        assertSame(first.get(0), first.get(1));
+        assertNotSame(first.get(0), second);
+        assertThrows(
+                IllegalStateException.class,
+                () -> apContext.getBean("requestBean")
+        );
+    }
+
+    @Test
+    void testCustomScope() {
+        var apContext = new SimpleApplicationContext(TenantBean.class);
+        Object[] tenant = new Object[1];
+        apContext.registerScope("tenant", (slot, factory) -> {
+            if (tenant[0] == null) {
+                tenant[0] = factory.get();
+            }
+            return tenant[0];
+        });
+        apContext.start();
+
+        assertSame(apContext.getBean("tenantBean"), apContext.getBean("tenantBean"));
+        assertFalse(apContext.isPrototype("tenantBean"));
+    }
+
+    @Test
+    void testConstructorInjection() {
+        var apContext = new SimpleApplicationContext(ConstructorBean.class, FirstBean.class, EnglishGreeter.class);
+        apContext.start();
+
+        ConstructorBean bean = apContext.getBean(ConstructorBean.class);
+        assertSame(apContext.getBean(FirstBean.class), bean.getFirstBean());
+        assertSame(apContext.getBean(Greeter.class), bean.getGreeter());
+    }
+
+    @Test
+    void testConstructorDependencyLoops() {
+        var apContext = new SimpleApplicationContext(FirstConstructorLoopBean.class, SecondConstructorLoopBean.class);
+        assertThrows(
+                DependencyLoopException.class,
+                apContext::start
+        );
+    }
+
     @Test
     void testDependencyLoops() {
         var apContext = new SimpleApplicationContext(FirstLoopBean.class, SecondLoopBean.class);
@@ -134,4 +360,95 @@ class SimpleApplicationContextTest {
                 apContext::start
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void testDependencyLoopsWithOtherBeans() {
+        var apContext = new SimpleApplicationContext(FirstBean.class, FirstLoopBean.class, SecondLoopBean.class);
+        var exception = assertThrows(
+                DependencyLoopException.class,
+                apContext::start
+        );
+        assertThat(exception.getMessage()).contains("firstLoopBean", "secondLoopBean");
+    }
+
+    @Test
+    void testMissingDependency() {
+        var apContext = new SimpleApplicationContext(OtherBean.class);
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                apContext::start
+        );
+    }
+
+    @Test
+    void testAsyncPostConstruct() {
+        WarmupBean.rendezvous = new CountDownLatch(2);
+        var apContext = new SimpleApplicationContext(
+                WarmupBean.class, FutureWarmupBean.class, WarmupConsumerBean.class
+        );
+        var ready = apContext.startAsync();
+        ready.join();
+
+        assertThat(apContext.isRunning()).isTrue();
+        assertSame(ready, apContext.startAsync());
+        assertThat(apContext.getBean(WarmupBean.class).isConcurrent()).isTrue();
+        assertThat(apContext.getBean(WarmupConsumerBean.class).isDependenciesReady()).isTrue();
+    }
+
+    @Test
+    void testAsyncPostConstructFailure() {
+        var apContext = new SimpleApplicationContext(FirstBean.class, FailingWarmupBean.class);
+        var exception = assertThrows(
+                RuntimeException.class,
+                apContext::start
+        );
+        assertThat(exception).hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(apContext.isRunning()).isFalse();
+    }
+
+    @Test
+    void testProviderInjection() {
+        var apContext = new SimpleApplicationContext(FirstBean.class, TicketBean.class, TicketMachineBean.class);
+        apContext.start();
+
+        TicketMachineBean machine = apContext.getBean(TicketMachineBean.class);
+        TicketBean first = machine.issue();
+        TicketBean second = machine.issue();
+
+        assertNotSame(first, second);
+        assertThat(first.isPostConstructCalled()).isTrue();
+        assertSame(apContext.getBean(FirstBean.class), first.getFirstBean());
+        assertSame(apContext.getBean(FirstBean.class), machine.getFirstBeanProvider().get());
+    }
+
+    @Test
+    void testProviderMissingDependency() {
+        var apContext = new SimpleApplicationContext(FirstBean.class, TicketMachineBean.class);
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                apContext::start
+        );
+    }
+
+    @Test
+    void testBeanHandle() {
+        var apContext = new SimpleApplicationContext(FirstBean.class, OtherBean.class, TicketBean.class);
+        apContext.start();
+
+        BeanHandle<FirstBean> firstBean = apContext.getHandle(FirstBean.class);
+        assertThat(firstBean.getName()).isEqualTo("firstBean");
+        assertSame(apContext.getBean(FirstBean.class), firstBean.get());
+
+        BeanHandle<TicketBean> ticket = apContext.getHandle("ticketBean", TicketBean.class);
+        assertNotSame(ticket.get(), ticket.get());
+
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> apContext.getHandle("otherBean", FirstBean.class)
+        );
+        assertThrows(
+                NoSuchBeanDefinitionException.class,
+                () -> apContext.getHandle("randomName", Object.class)
+        );
+    }
+}
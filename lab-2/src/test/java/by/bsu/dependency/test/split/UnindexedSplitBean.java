@@ -0,0 +1,10 @@
+package by.bsu.dependency.test.split;
+
+import by.bsu.dependency.annotation.Bean;
+
+/**
+ * Бин того же пакета, что и {@link IndexedSplitBean}, но из тестовых исходников, для которых индекса нет.
+ */
+@Bean
+public class UnindexedSplitBean {
+}
@@ -0,0 +1,10 @@
+package by.bsu.dependency.test.unindexed;
+
+import by.bsu.dependency.annotation.Bean;
+
+/**
+ * Бин из тестовых исходников: они компилируются без процессора аннотаций, поэтому бина нет в индексе.
+ */
+@Bean
+public class UnindexedBean {
+}
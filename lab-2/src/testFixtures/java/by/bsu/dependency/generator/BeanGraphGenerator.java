@@ -0,0 +1,153 @@
+package by.bsu.dependency.generator;
+
+import by.bsu.dependency.annotation.BeanScope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Генерирует синтетический граф бинов {@code bean0..bean<n-1>} для масштабных тестов и бенчмарков. Бины разбиты на
+ * {@code depth} слоев, каждый бин внедряет {@code fanOut} случайных бинов предыдущего слоя. Граф задается
+ * seed'ом и воспроизводим.
+ */
+public final class BeanGraphGenerator {
+    private final int beanCount;
+    private int fanOut = 2;
+    private int depth = 10;
+    private double prototypes;
+    private double lazy;
+    private long postConstructNanos;
+    private int cycles;
+    private long seed = 42;
+
+    private BeanGraphGenerator(int beanCount) {
+        this.beanCount = beanCount;
+    }
+
+    public static BeanGraphGenerator beans(int beanCount) {
+        if (beanCount <= 0) {
+            throw new IllegalArgumentException("Bean count must be positive");
+        }
+        return new BeanGraphGenerator(beanCount);
+    }
+
+    /**
+     * @param fanOut число зависимостей у каждого бина, кроме бинов первого слоя
+     */
+    public BeanGraphGenerator fanOut(int fanOut) {
+        this.fanOut = fanOut;
+        return this;
+    }
+
+    /**
+     * @param depth число слоев графа, то есть длина самой длинной цепочки зависимостей
+     */
+    public BeanGraphGenerator depth(int depth) {
+        if (depth <= 0 || depth > beanCount) {
+            throw new IllegalArgumentException("Depth must be in [1, bean count]");
+        }
+        this.depth = depth;
+        return this;
+    }
+
+    /**
+     * @param prototypes доля бинов со скоупом {@code PROTOTYPE}
+     * @param lazy       доля ленивых бинов со скоупом {@code SINGLETON}
+     */
+    public BeanGraphGenerator scopes(double prototypes, double lazy) {
+        if (prototypes < 0 || lazy < 0 || prototypes + lazy > 1) {
+            throw new IllegalArgumentException("Scope shares must be non-negative and sum up to at most 1");
+        }
+        this.prototypes = prototypes;
+        this.lazy = lazy;
+        return this;
+    }
+
+    /**
+     * @param nanos время, которое {@code @PostConstruct} метод каждого бина крутится в цикле; 0 - без метода
+     */
+    public BeanGraphGenerator postConstructNanos(long nanos) {
+        this.postConstructNanos = nanos;
+        return this;
+    }
+
+    /**
+     * @param cycles число циклов зависимостей: бин первого слоя внедряет бин последнего слоя, который через
+     *               цепочку первых зависимостей зависит от него
+     */
+    public BeanGraphGenerator cycles(int cycles) {
+        this.cycles = cycles;
+        return this;
+    }
+
+    public BeanGraphGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Строит граф, генерирует и загружает классы бинов.
+     *
+     * @return классы в порядке номеров бинов
+     */
+    public List<Class<?>> generate() {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<List<Integer>> dependencies = dependencies(random);
+        injectCycles(dependencies);
+
+        GeneratedBeans beans = new GeneratedBeans();
+        for (int i = 0; i < beanCount; i++) {
+            double kind = random.nextDouble();
+            BeanScope scope = kind < prototypes ? BeanScope.PROTOTYPE : BeanScope.SINGLETON;
+            List<String> names = dependencies.get(i).stream().map(dependency -> "bean" + dependency).toList();
+            beans.add("bean" + i, scope, kind >= prototypes && kind < prototypes + lazy, names, List.of(),
+                    postConstructNanos);
+        }
+        return beans.load();
+    }
+
+    private int layerStart(int layer) {
+        return (int) ((long) layer * beanCount / depth);
+    }
+
+    private List<List<Integer>> dependencies(SplittableRandom random) {
+        List<List<Integer>> dependencies = new ArrayList<>(beanCount);
+        for (int layer = 0; layer < depth; layer++) {
+            int previousStart = layer == 0 ? 0 : layerStart(layer - 1);
+            int previousSize = layerStart(layer) - previousStart;
+            for (int i = layerStart(layer); i < layerStart(layer + 1); i++) {
+                List<Integer> beanDependencies = new ArrayList<>(Math.min(fanOut, previousSize));
+                if (previousSize <= fanOut) {
+                    for (int j = 0; j < previousSize; j++) {
+                        beanDependencies.add(previousStart + j);
+                    }
+                } else {
+                    while (beanDependencies.size() < fanOut) {
+                        int dependency = previousStart + random.nextInt(previousSize);
+                        if (!beanDependencies.contains(dependency)) {
+                            beanDependencies.add(dependency);
+                        }
+                    }
+                }
+                dependencies.add(beanDependencies);
+            }
+        }
+        return dependencies;
+    }
+
+    private void injectCycles(List<List<Integer>> dependencies) {
+        int lastLayer = layerStart(depth - 1);
+        if (cycles > beanCount - lastLayer) {
+            throw new IllegalArgumentException("Too many cycles for the last layer");
+        }
+        for (int k = 0; k < cycles; k++) {
+            int last = lastLayer + k;
+            int first = last;
+            while (first >= layerStart(1)) {
+                first = dependencies.get(first).get(0);
+            }
+            dependencies.get(first).add(last);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package by.bsu.dependency.generator;
+
+import by.bsu.dependency.annotation.BeanScope;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Генерирует классы бинов для тестов и бенчмарков: публичный конструктор без аргументов, аннотация {@code @Bean},
+ * {@code @Inject} поля на указанные зависимости или {@code Provider} для них и, при необходимости,
+ * {@code @PostConstruct} метод, который крутится в цикле заданное время.
+ * <p>
+ * Классы генерируются через ASM и загружаются в отдельном загрузчике: скрытые классы не подходят, так как
+ * на них нельзя сослаться из типа поля другого класса.
+ */
+public final class GeneratedBeans {
+    private static final String PACKAGE = "by/bsu/dependency/generated/";
+    private static final String BEAN = "Lby/bsu/dependency/annotation/Bean;";
+    private static final String BEAN_SCOPE = "Lby/bsu/dependency/annotation/BeanScope;";
+    private static final String INJECT = "Lby/bsu/dependency/annotation/Inject;";
+    private static final String POST_CONSTRUCT = "Lby/bsu/dependency/annotation/PostConstruct;";
+    private static final String PROVIDER = "Lby/bsu/dependency/context/Provider;";
+
+    private final Map<String, byte[]> bytecode = new HashMap<>();
+    private final List<String> classNames = new ArrayList<>();
+
+    /**
+     * Добавляет класс бина с именем {@code name}.
+     *
+     * @param dependencies имена бинов, которые внедряются в поля {@code dependency0..dependency<n-1>}
+     */
+    public GeneratedBeans add(String name, BeanScope scope, List<String> dependencies) {
+        return add(name, scope, false, dependencies, List.of(), 0);
+    }
+
+    /**
+     * Добавляет класс бина с именем {@code name}.
+     *
+     * @param dependencies       имена бинов, которые внедряются в поля {@code dependency0..dependency<n-1>}
+     * @param providers          имена бинов, {@code Provider} для которых внедряется в поля
+     *                           {@code provider0..provider<n-1>}
+     * @param postConstructNanos время, которое {@code @PostConstruct} метод крутится в цикле; 0 - без метода
+     */
+    public GeneratedBeans add(String name, BeanScope scope, boolean lazy, List<String> dependencies,
+                              List<String> providers, long postConstructNanos) {
+        String internalName = internalName(name);
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, internalName, null,
+                "java/lang/Object", null);
+
+        AnnotationVisitor bean = writer.visitAnnotation(BEAN, true);
+        bean.visit("name", name);
+        bean.visitEnum("scope", BEAN_SCOPE, scope.name());
+        if (lazy) {
+            bean.visit("lazy", true);
+        }
+        bean.visitEnd();
+
+        for (int i = 0; i < dependencies.size(); i++) {
+            addField(writer, "dependency" + i, "L" + internalName(dependencies.get(i)) + ";", null);
+        }
+        for (int i = 0; i < providers.size(); i++) {
+            String signature = PROVIDER.replace(";", "<L" + internalName(providers.get(i)) + ";>;");
+            addField(writer, "provider" + i, PROVIDER, signature);
+        }
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(1, 1);
+        constructor.visitEnd();
+
+        if (postConstructNanos > 0) {
+            addPostConstruct(writer, postConstructNanos);
+        }
+
+        writer.visitEnd();
+
+        String className = internalName.replace('/', '.');
+        bytecode.put(className, writer.toByteArray());
+        classNames.add(className);
+        return this;
+    }
+
+    private static String internalName(String name) {
+        return PACKAGE + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static void addField(ClassWriter writer, String name, String descriptor, String signature) {
+        FieldVisitor field = writer.visitField(Opcodes.ACC_PRIVATE, name, descriptor, signature, null);
+        field.visitAnnotation(INJECT, true).visitEnd();
+        field.visitEnd();
+    }
+
+    /**
+     * {@code long end = System.nanoTime() + cost; while (System.nanoTime() < end) Thread.onSpinWait();}
+     */
+    private static void addPostConstruct(ClassWriter writer, long nanos) {
+        MethodVisitor method = writer.visitMethod(Opcodes.ACC_PUBLIC, "init", "()V", null, null);
+        method.visitAnnotation(POST_CONSTRUCT, true).visitEnd();
+        method.visitCode();
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+        method.visitLdcInsn(nanos);
+        method.visitInsn(Opcodes.LADD);
+        method.visitVarInsn(Opcodes.LSTORE, 1);
+
+        Label loop = new Label();
+        Label end = new Label();
+        method.visitLabel(loop);
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/System", "nanoTime", "()J", false);
+        method.visitVarInsn(Opcodes.LLOAD, 1);
+        method.visitInsn(Opcodes.LCMP);
+        method.visitJumpInsn(Opcodes.IFGE, end);
+        method.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Thread", "onSpinWait", "()V", false);
+        method.visitJumpInsn(Opcodes.GOTO, loop);
+        method.visitLabel(end);
+        method.visitInsn(Opcodes.RETURN);
+        method.visitMaxs(4, 3);
+        method.visitEnd();
+    }
+
+    /**
+     * Загружает все добавленные классы в новом загрузчике.
+     *
+     * @return классы в порядке добавления
+     */
+    public List<Class<?>> load() {
+        ClassLoader loader = new ClassLoader(GeneratedBeans.class.getClassLoader()) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                byte[] bytes = bytecode.remove(name);
+                if (bytes == null) {
+                    throw new ClassNotFoundException(name);
+                }
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+        };
+
+        List<Class<?>> classes = new ArrayList<>(classNames.size());
+        for (String className : classNames) {
+            try {
+                classes.add(loader.loadClass(className));
+            } catch (ClassNotFoundException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return classes;
+    }
+}